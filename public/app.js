@@ -1,8 +1,10 @@
 const API_BASE = 'http://localhost:3000/api';
 
 let autoRefreshInterval = null;
+let eventSource = null;
+let currentData = null;
 let config = null;
-let currentEnvironment = 'homolog';
+let currentEnvironment = localStorage.getItem('environment') || 'homolog';
 
 // Elementos do DOM
 const refreshBtn = document.getElementById('refreshBtn');
@@ -15,6 +17,13 @@ const healthyValue = document.getElementById('healthyValue');
 const unhealthyValue = document.getElementById('unhealthyValue');
 const errorValue = document.getElementById('errorValue');
 
+const ENVIRONMENT_LABELS = { homolog: 'Homologação', prod: 'Produção' };
+
+// URL da API para o ambiente selecionado (cada ambiente é monitorado em paralelo no servidor)
+function apiUrl(path) {
+    return `${API_BASE}${path}?env=${encodeURIComponent(currentEnvironment)}`;
+}
+
 // Função para formatar tempo de resposta
 function formatResponseTime(ms) {
     if (ms < 1000) {
@@ -23,6 +32,12 @@ function formatResponseTime(ms) {
     return `${(ms / 1000).toFixed(2)}s`;
 }
 
+// Percentis dos últimos minutos, exibidos como dica no tempo de resposta
+function formatLatency(latency) {
+    const fmt = ms => formatResponseTime(ms < 10 ? Number(ms.toFixed(1)) : Math.round(ms));
+    return `p50 ${fmt(latency.p50)} · p90 ${fmt(latency.p90)} · p99 ${fmt(latency.p99)} · máx ${fmt(latency.max)}`;
+}
+
 // Função para classificar tempo de resposta
 function getResponseTimeClass(ms) {
     if (ms < 500) return 'fast';
@@ -81,13 +96,13 @@ function createServiceCard(service, index = 0) {
                             </div>
                         </div>
                     ` : ''}
-                    <span class="service-status ${statusClass}">
-                        ${service.status === 'healthy' ? '✓' : service.status === 'unhealthy' ? '⚠' : '✗'}
+                    <span class="service-status ${statusClass}"${service.status === 'pending' ? ` title="Verificação em andamento${service.lastStatus ? ` (último status: ${service.lastStatus})` : ''}"` : ''}>
+                        ${service.status === 'healthy' ? '✓' : service.status === 'unhealthy' ? '⚠' : service.status === 'pending' ? '⏳' : '✗'}
                     </span>
                 </div>
             </div>
             <div class="service-details">
-                <div class="response-time ${responseTimeClass}">
+                <div class="response-time ${responseTimeClass}"${service.latency ? ` title="${formatLatency(service.latency)}"` : ''}>
                     ⏱ ${formatResponseTime(service.responseTime)}
                 </div>
                 <div class="status-code ${statusClass}">
@@ -160,13 +175,14 @@ async function fetchHealthStatus() {
         refreshBtn.classList.add('loading');
         refreshBtn.disabled = true;
         
-        const response = await fetch(`${API_BASE}/health`);
+        const response = await fetch(apiUrl('/health'));
         const data = await response.json();
         
         console.log('DEBUG: Dados recebidos da API:', data);
         console.log('DEBUG: Services:', data.services);
         console.log('DEBUG: Summary:', data.summary);
         
+        currentData = data;
         renderServices(data);
         updateSummary(data.summary);
         lastUpdateTime.textContent = formatDate(data.summary.timestamp);
@@ -184,57 +200,134 @@ async function fetchHealthStatus() {
     }
 }
 
+// Função para aplicar o resultado de um serviço que mudou (evento "service")
+function applyServiceUpdate(service) {
+    if (!currentData || !currentData.services) {
+        return;
+    }
+    
+    // Remove a versão anterior (o serviço pode ter trocado de categoria)
+    let replaced = false;
+    Object.keys(currentData.services).forEach(category => {
+        const services = currentData.services[category];
+        const index = services.findIndex(s => s.name === service.name);
+        if (index >= 0 && !service.latency) {
+            // Eventos de serviço não trazem percentis; mantém os do último snapshot
+            service.latency = services[index].latency;
+        }
+        if (index >= 0 && category === service.category) {
+            services[index] = service;
+            replaced = true;
+        } else if (index >= 0) {
+            services.splice(index, 1);
+            if (services.length === 0) {
+                delete currentData.services[category];
+            }
+        }
+    });
+    if (!replaced) {
+        (currentData.services[service.category] = currentData.services[service.category] || []).push(service);
+    }
+    
+    renderServices(currentData);
+}
+
+// Função para conectar ao stream de atualizações (Server-Sent Events)
+function connectStream() {
+    if (!window.EventSource) {
+        return false;
+    }
+    
+    eventSource = new EventSource(apiUrl('/health/stream'));
+    
+    eventSource.addEventListener('snapshot', (e) => {
+        currentData = JSON.parse(e.data);
+        renderServices(currentData);
+        updateSummary(currentData.summary);
+        lastUpdateTime.textContent = formatDate(currentData.summary.timestamp);
+    });
+    
+    eventSource.addEventListener('service', (e) => {
+        applyServiceUpdate(JSON.parse(e.data));
+    });
+    
+    eventSource.addEventListener('summary', (e) => {
+        const summary = JSON.parse(e.data);
+        if (currentData) {
+            currentData.summary = summary;
+        }
+        updateSummary(summary);
+        lastUpdateTime.textContent = formatDate(summary.timestamp);
+    });
+    
+    eventSource.onerror = () => {
+        // Quedas de rede são reconectadas pelo próprio EventSource;
+        // se a conexão foi recusada de vez, volta para o polling
+        if (eventSource && eventSource.readyState === EventSource.CLOSED) {
+            console.warn('Stream indisponível, usando atualização periódica');
+            eventSource = null;
+            startPolling();
+        }
+    };
+    
+    return true;
+}
+
+function startPolling() {
+    if (config && !autoRefreshInterval) {
+        const interval = config.refreshInterval || 30000;
+        autoRefreshInterval = setInterval(fetchHealthStatus, interval);
+    }
+}
+
 // Função para configurar auto-refresh
 function setupAutoRefresh() {
     if (autoRefreshInterval) {
         clearInterval(autoRefreshInterval);
         autoRefreshInterval = null;
     }
+    if (eventSource) {
+        eventSource.close();
+        eventSource = null;
+    }
     
     if (autoRefreshCheckbox.checked && config) {
-        const interval = config.refreshInterval || 30000;
-        autoRefreshInterval = setInterval(fetchHealthStatus, interval);
+        // Prefere o stream; sem suporte a EventSource, busca o payload completo periodicamente
+        if (!connectStream()) {
+            startPolling();
+        }
     }
 }
 
-// Função para trocar ambiente
+// Função para trocar ambiente: o servidor já monitora todos, basta trocar a origem dos dados
 async function changeEnvironment(newEnv) {
-    try {
-        const response = await fetch(`${API_BASE}/environment`, {
-            method: 'POST',
-            headers: {
-                'Content-Type': 'application/json'
-            },
-            body: JSON.stringify({ environment: newEnv })
-        });
-        
-        const data = await response.json();
-        if (data.success) {
-            currentEnvironment = newEnv;
-            environmentSelect.value = newEnv;
-            // Recarregar configuração e dados
-            await loadConfig();
-            fetchHealthStatus();
-        } else {
-            console.error('Erro ao trocar ambiente:', data.error);
-            alert('Erro ao trocar ambiente: ' + (data.error || 'Erro desconhecido'));
-            // Reverter select
-            environmentSelect.value = currentEnvironment;
-        }
-    } catch (error) {
-        console.error('Erro ao trocar ambiente:', error);
-        alert('Erro ao conectar com o servidor para trocar ambiente');
-        // Reverter select
-        environmentSelect.value = currentEnvironment;
-    }
+    currentEnvironment = newEnv;
+    environmentSelect.value = newEnv;
+    localStorage.setItem('environment', newEnv);
+    currentData = null;
+    servicesContainer.innerHTML = '<div class="loading">Carregando serviços...</div>';
+    // Recarregar configuração e dados (reconecta o stream no novo ambiente)
+    await loadConfig();
+    fetchHealthStatus();
 }
 
-// Função para carregar ambiente atual
+// Função para carregar os ambientes disponíveis
 async function loadEnvironment() {
     try {
         const response = await fetch(`${API_BASE}/environment`);
         const data = await response.json();
-        currentEnvironment = data.current || 'homolog';
+        const available = data.available || ['homolog', 'prod'];
+        environmentSelect.innerHTML = '';
+        available.forEach(env => {
+            const option = document.createElement('option');
+            option.value = env;
+            option.textContent = ENVIRONMENT_LABELS[env] || env;
+            environmentSelect.appendChild(option);
+        });
+        // Mantém a escolha anterior do usuário, se o ambiente ainda existir
+        if (!available.includes(currentEnvironment)) {
+            currentEnvironment = data.current || available[0];
+        }
         environmentSelect.value = currentEnvironment;
     } catch (error) {
         console.error('Erro ao carregar ambiente:', error);
@@ -244,7 +337,7 @@ async function loadEnvironment() {
 // Função para carregar configuração
 async function loadConfig() {
     try {
-        const response = await fetch(`${API_BASE}/config`);
+        const response = await fetch(apiUrl('/config'));
         config = await response.json();
         // Atualizar ambiente se vier na resposta
         if (config.environment) {
@@ -290,7 +383,7 @@ document.addEventListener('DOMContentLoaded', init);
 
 // Atualizar quando a página voltar a ter foco
 document.addEventListener('visibilitychange', () => {
-    if (!document.hidden && autoRefreshCheckbox.checked) {
+    if (!document.hidden && autoRefreshCheckbox.checked && !eventSource) {
         fetchHealthStatus();
     }
 });
@@ -0,0 +1,232 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.Component;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.infrastructure.util.JsonReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interpretação da resposta de um endpoint de health check (formato Spring Boot Actuator),
+ * compartilhada pelas implementações HTTP do repositório
+ */
+class ActuatorHealthParser {
+    
+    private ActuatorHealthParser() {
+    }
+    
+    /**
+     * Lê status raiz e componentes direto do stream do corpo JSON, se houver.
+     * Lê no máximo maxBytes do corpo; o restante é descartado.
+     */
+    static Body parseBody(InputStream body, int maxBytes) {
+        Body parsed = new Body();
+        if (body == null) {
+            return parsed;
+        }
+        try (Reader reader = new InputStreamReader(new LimitedInputStream(body, maxBytes), StandardCharsets.UTF_8)) {
+            parseHealthCheckJson(new JsonReader(reader), parsed);
+        } catch (Exception e) {
+            // Corpo ausente, não JSON, inválido ou truncado pelo limite: mantém o que já foi extraído
+        }
+        return parsed;
+    }
+    
+    /**
+     * Limite de corpo do serviço, ou o padrão do servidor quando o serviço não define um
+     */
+    static int bodyLimit(Service service, int defaultMaxBytes) {
+        return service.getMaxBodyBytes() > 0 ? service.getMaxBodyBytes() : defaultMaxBytes;
+    }
+    
+    /**
+     * Resultado de uma resposta HTTP: status e mensagem considerando o status HTTP esperado,
+     * o status raiz e os componentes do corpo (null se o corpo não foi lido)
+     */
+    static HealthCheckResult evaluate(Service service, int statusCode, long responseTimeNanos, Body body) {
+        boolean isHealthy = statusCode == service.getExpectedStatus();
+        String rootStatus = body != null ? body.rootStatus : null;
+        List<Component> components = body != null ? body.components : null;
+        
+        // Verificar status raiz se existir
+        if (rootStatus != null && !"UP".equalsIgnoreCase(rootStatus)) {
+            isHealthy = false;
+        }
+        
+        // Verificar se algum componente está diferente de UP
+        if (components != null && !components.isEmpty()) {
+            for (Component component : components) {
+                String componentStatus = component.getStatus();
+                if (componentStatus != null && !"UP".equalsIgnoreCase(componentStatus)) {
+                    isHealthy = false;
+                    break; // Já encontrou um componente com problema, não precisa continuar
+                }
+            }
+        }
+        
+        return HealthCheckResult.checked(
+            service,
+            isHealthy ? HealthStatus.HEALTHY : HealthStatus.UNHEALTHY,
+            statusCode,
+            responseTimeNanos,
+            isHealthy ? "Operacional" : "Status " + statusCode,
+            rootStatus,
+            components
+        );
+    }
+    
+    /**
+     * Extrai apenas "status" e "components" do objeto raiz: os demais campos (details,
+     * métricas de disco, banco etc.) são pulados sem alocação, e a leitura termina assim
+     * que os dois campos foram encontrados
+     */
+    private static void parseHealthCheckJson(JsonReader reader, Body parsed) throws IOException {
+        if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+            return;
+        }
+        reader.beginObject();
+        boolean statusFound = false;
+        boolean componentsFound = false;
+        
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (!statusFound && "status".equals(name) && reader.peek() == JsonReader.Token.STRING) {
+                // Verificar status raiz
+                String rootStatus = reader.nextString();
+                if (!rootStatus.isEmpty()) {
+                    parsed.rootStatus = rootStatus;
+                }
+                statusFound = true;
+            } else if (!componentsFound && "components".equals(name)
+                    && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                // Verificar componentes (só publicados se o objeto for lido por inteiro)
+                List<Component> components = new ArrayList<>();
+                extractComponents(reader, "", components);
+                parsed.components = components;
+                componentsFound = true;
+            } else {
+                reader.skipValue();
+            }
+            
+            if (statusFound && componentsFound) {
+                return;
+            }
+        }
+    }
+    
+    private static void extractComponents(JsonReader reader, String prefix, List<Component> result) throws IOException {
+        reader.beginObject();
+        
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String fullKey = prefix.isEmpty() ? key : prefix + "." + key;
+            String status = null;
+            List<Component> subComponents = null;
+            
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if ("status".equals(field) && reader.peek() == JsonReader.Token.STRING) {
+                    status = reader.nextString();
+                } else if ("components".equals(field) && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                    // Verificar se tem sub-componentes
+                    subComponents = new ArrayList<>();
+                    extractComponents(reader, fullKey, subComponents);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            
+            if (status != null && !status.isEmpty()) {
+                result.add(Component.of(fullKey, status));
+            }
+            if (subComponents != null) {
+                result.addAll(subComponents);
+            }
+        }
+        
+        reader.endObject();
+    }
+    
+    /**
+     * Campos extraídos do corpo; ficam null quando ausentes
+     */
+    static class Body {
+        private String rootStatus;
+        private List<Component> components;
+        
+        String getRootStatus() {
+            return rootStatus;
+        }
+        
+        List<Component> getComponents() {
+            return components;
+        }
+    }
+    
+    /**
+     * Entrega no máximo limit bytes do stream de origem e então sinaliza fim de dados
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+        
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+        
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+        
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
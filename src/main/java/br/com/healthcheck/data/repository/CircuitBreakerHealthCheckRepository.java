@@ -0,0 +1,188 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HostCircuit;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import br.com.healthcheck.domain.repository.HostCircuitRepository;
+import br.com.healthcheck.infrastructure.util.Urls;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker por host (scheme + host + porta) em volta de outro HealthCheckRepository.
+ *
+ * Depois de failureThreshold falhas seguidas de conexão ou timeout, o circuito do host abre
+ * e as verificações dos serviços desse host viram erro na hora, sem abrir conexão nem ocupar
+ * thread. Passado o tempo de espera, uma única verificação de teste (meio aberto) vai ao host:
+ * se ele responder (com qualquer código HTTP), o circuito fecha; se falhar de novo, reabre
+ * com o dobro da espera, até maxOpenMs.
+ */
+public class CircuitBreakerHealthCheckRepository implements HealthCheckRepository, HostCircuitRepository {
+    private final HealthCheckRepository delegate;
+    private final int failureThreshold;
+    private final long openMs;
+    private final long maxOpenMs;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+    
+    public CircuitBreakerHealthCheckRepository(HealthCheckRepository delegate,
+                                               int failureThreshold,
+                                               long openMs,
+                                               long maxOpenMs) {
+        this.delegate = delegate;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.maxOpenMs = Math.max(maxOpenMs, openMs);
+    }
+    
+    @Override
+    public boolean isAsync() {
+        return delegate.isAsync();
+    }
+    
+    @Override
+    public HealthCheckResult checkHealth(Service service, int timeout) {
+        Circuit circuit = circuitOf(service);
+        Boolean trial = circuit.acquire();
+        if (trial == null) {
+            return circuit.shortCircuit(service);
+        }
+        HealthCheckResult result;
+        try {
+            result = delegate.checkHealth(service, timeout);
+        } catch (RuntimeException e) {
+            circuit.release(trial);
+            throw e;
+        }
+        circuit.onResult(result, trial);
+        return result;
+    }
+    
+    @Override
+    public CompletableFuture<HealthCheckResult> checkHealthAsync(Service service, int timeout) {
+        Circuit circuit = circuitOf(service);
+        Boolean trial = circuit.acquire();
+        if (trial == null) {
+            return CompletableFuture.completedFuture(circuit.shortCircuit(service));
+        }
+        CompletableFuture<HealthCheckResult> probe;
+        try {
+            probe = delegate.checkHealthAsync(service, timeout);
+        } catch (RuntimeException e) {
+            circuit.release(trial);
+            throw e;
+        }
+        return probe.whenComplete((result, error) -> {
+            if (result != null) {
+                circuit.onResult(result, trial);
+            } else {
+                circuit.release(trial);
+            }
+        });
+    }
+    
+    @Override
+    public List<HostCircuit> getCircuits() {
+        List<HostCircuit> snapshot = new ArrayList<>();
+        for (Circuit circuit : circuits.values()) {
+            snapshot.add(circuit.snapshot());
+        }
+        snapshot.sort((a, b) -> a.getHost().compareTo(b.getHost()));
+        return snapshot;
+    }
+    
+    private Circuit circuitOf(Service service) {
+        return circuits.computeIfAbsent(Urls.hostKey(service.getUrl()), Circuit::new);
+    }
+    
+    private static boolean isHostFailure(HealthCheckResult result) {
+        return HealthCheckResult.ERROR_TIMEOUT.equals(result.getErrorType())
+            || HealthCheckResult.ERROR_CONNECTION.equals(result.getErrorType());
+    }
+    
+    private class Circuit {
+        private final String host;
+        private String state = HostCircuit.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private long nextAttemptAt;
+        private long currentOpenMs = openMs;
+        private boolean trialInFlight;
+        private long shortCircuited;
+        
+        Circuit(String host) {
+            this.host = host;
+        }
+        
+        /**
+         * Libera a verificação: false se normal, true se for o teste do circuito meio aberto,
+         * null se o circuito está aberto e a verificação deve falhar na hora
+         */
+        synchronized Boolean acquire() {
+            if (state.equals(HostCircuit.CLOSED)) {
+                return Boolean.FALSE;
+            }
+            if (!trialInFlight && System.currentTimeMillis() >= nextAttemptAt) {
+                state = HostCircuit.HALF_OPEN;
+                trialInFlight = true;
+                return Boolean.TRUE;
+            }
+            shortCircuited++;
+            return null;
+        }
+        
+        synchronized void onResult(HealthCheckResult result, boolean trial) {
+            if (trial) {
+                trialInFlight = false;
+            }
+            if (!isHostFailure(result)) {
+                // O host respondeu: o circuito fecha e a espera volta ao valor inicial
+                state = HostCircuit.CLOSED;
+                consecutiveFailures = 0;
+                openedAt = 0;
+                nextAttemptAt = 0;
+                currentOpenMs = openMs;
+                return;
+            }
+            
+            consecutiveFailures++;
+            long now = System.currentTimeMillis();
+            if (trial) {
+                currentOpenMs = Math.min(currentOpenMs * 2, maxOpenMs);
+                open(now);
+            } else if (state.equals(HostCircuit.CLOSED) && consecutiveFailures >= failureThreshold) {
+                openedAt = now;
+                open(now);
+            }
+        }
+        
+        /**
+         * A verificação terminou sem resultado; o teste, se era um, pode ser repetido
+         */
+        synchronized void release(boolean trial) {
+            if (trial) {
+                trialInFlight = false;
+            }
+        }
+        
+        private void open(long now) {
+            state = HostCircuit.OPEN;
+            nextAttemptAt = now + currentOpenMs;
+        }
+        
+        HealthCheckResult shortCircuit(Service service) {
+            // Mensagem fixa, para o estado do serviço não "mudar" a cada verificação curto-circuitada
+            return HealthCheckResult.error(service, 0,
+                "Host indisponível: circuito aberto após " + failureThreshold
+                    + " falhas seguidas de conexão ou timeout",
+                HealthCheckResult.ERROR_CIRCUIT_OPEN);
+        }
+        
+        synchronized HostCircuit snapshot() {
+            return new HostCircuit(host, state, consecutiveFailures, openedAt, nextAttemptAt, shortCircuited);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthChanges;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Últimas mudanças de estado do snapshot, em ordem de versão, num buffer circular de tamanho fixo.
+ *
+ * A versão de cada mudança é gerada e gravada sob o mesmo lock com que as consultas leem a
+ * versão atual: quem recebe a versão N já recebeu todas as mudanças até N. Mudanças que não
+ * entram no log (ex.: só a mensagem) incrementam a versão fora do lock.
+ */
+class HealthChangeLog {
+    private final long[] versions;
+    private final String[] names;
+    private final HealthCheckResult[] results; // null = serviço removido
+    private int start;
+    private int size;
+    private long floor; // mudanças com versão até floor podem ter sido descartadas
+    
+    HealthChangeLog(int capacity) {
+        int length = Math.max(capacity, 1);
+        this.versions = new long[length];
+        this.names = new String[length];
+        this.results = new HealthCheckResult[length];
+    }
+    
+    /**
+     * Gera a próxima versão e registra a mudança com ela
+     */
+    synchronized long append(AtomicLong version, String serviceName, HealthCheckResult result) {
+        long next = version.incrementAndGet();
+        int index;
+        if (size == versions.length) {
+            // Cheio: a mais antiga sai e o log passa a estar completo só a partir dela
+            floor = versions[start];
+            index = start;
+            start = (start + 1) % versions.length;
+        } else {
+            index = (start + size) % versions.length;
+            size++;
+        }
+        versions[index] = next;
+        names[index] = serviceName;
+        results[index] = result;
+        return next;
+    }
+    
+    /**
+     * Último estado de cada serviço que mudou depois de since, na ordem da mudança mais recente
+     */
+    synchronized HealthChanges since(long since, AtomicLong version) {
+        long current = version.get();
+        if (since < floor || since > current) {
+            // Versão fora do log, ou de outra execução do servidor (a versão recomeça do zero)
+            return new HealthChanges(current, true, List.of());
+        }
+        
+        Map<String, HealthCheckResult> latest = new LinkedHashMap<>();
+        for (int i = firstAfter(since); i < size; i++) {
+            int index = (start + i) % versions.length;
+            latest.remove(names[index]);
+            latest.put(names[index], results[index]);
+        }
+        List<HealthChanges.Change> changes = new ArrayList<>(latest.size());
+        for (Map.Entry<String, HealthCheckResult> entry : latest.entrySet()) {
+            changes.add(new HealthChanges.Change(entry.getKey(), entry.getValue()));
+        }
+        return new HealthChanges(current, false, changes);
+    }
+    
+    /**
+     * Primeira posição (relativa a start) com versão maior que since, por busca binária
+     */
+    private int firstAfter(long since) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (versions[(start + mid) % versions.length] <= since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementação do repositório de health check usando java.net.http.HttpClient.
+ * Um único cliente compartilhado mantém o pool de conexões (keep-alive), reaproveita
+ * sessões TLS e usa HTTP/2 quando o servidor suporta; as requisições são assíncronas.
+ *
+ * O cliente usa o executor recebido (limitado ou de virtual threads, ver ExecutorFactory) em vez
+ * do pool sem limite padrão. A leitura do corpo bloqueia enquanto ele chega, então roda no
+ * bodyExecutor (os workers das verificações), fora das threads do cliente.
+ */
+public class HttpClientHealthCheckRepository implements HealthCheckRepository {
+    private final HttpClient client;
+    private final int defaultMaxBodyBytes;
+    private final Executor bodyExecutor;
+    
+    public HttpClientHealthCheckRepository(int defaultMaxBodyBytes, Executor clientExecutor, Executor bodyExecutor) {
+        this.defaultMaxBodyBytes = defaultMaxBodyBytes;
+        this.bodyExecutor = bodyExecutor;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(clientExecutor)
+            .build();
+    }
+    
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+    
+    @Override
+    public HealthCheckResult checkHealth(Service service, int timeout) {
+        return checkHealthAsync(service, timeout).join();
+    }
+    
+    @Override
+    public CompletableFuture<HealthCheckResult> checkHealthAsync(Service service, int timeout) {
+        long startTime = System.nanoTime();
+        
+        HttpRequest request;
+        try {
+            URI uri = URI.create(service.getUrl());
+            request = HttpRequest.newBuilder(uri)
+                // Sem TLS fica em HTTP/1.1: evita a negociação h2c (Upgrade) a cada conexão
+                .version("https".equalsIgnoreCase(uri.getScheme())
+                    ? HttpClient.Version.HTTP_2
+                    : HttpClient.Version.HTTP_1_1)
+                .GET()
+                .timeout(Duration.ofMillis(timeout))
+                .header("User-Agent", "HealthCheck/1.0")
+                .header("Accept", "application/json")
+                .build();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(error(service, startTime, e));
+        }
+        
+        int maxBodyBytes = ActuatorHealthParser.bodyLimit(service, defaultMaxBodyBytes);
+        BodyStream body = new BodyStream();
+        CompletableFuture<HttpResponse<InputStream>> exchange = client.sendAsync(request, this::bodyHandler);
+        return exchange
+            .handleAsync((response, error) -> {
+                if (error != null) {
+                    return error(service, startTime, error);
+                }
+                
+                // O corpo é lido do stream enquanto chega; o parser para assim que tem o que precisa
+                // (ou no limite de bytes) e fecha o stream, o que cancela o restante da leitura
+                ActuatorHealthParser.Body parsed = body.attach(response.body())
+                    ? ActuatorHealthParser.parseBody(response.body(), maxBodyBytes)
+                    : null;
+                long responseTime = System.nanoTime() - startTime;
+                return ActuatorHealthParser.evaluate(service, response.statusCode(), responseTime, parsed);
+            }, bodyExecutor)
+            // O timeout da requisição só limita a espera pelos cabeçalhos; um corpo que para no meio
+            // seguraria a vaga do executor para sempre. O prazo vale para a troca inteira.
+            .orTimeout(timeout, TimeUnit.MILLISECONDS)
+            .exceptionally(error -> {
+                exchange.cancel(true);
+                body.abort();
+                return error(service, startTime, error);
+            });
+    }
+    
+    /**
+     * Só entrega o corpo de respostas 2xx, como stream; os demais são descartados sem leitura
+     */
+    private HttpResponse.BodySubscriber<InputStream> bodyHandler(HttpResponse.ResponseInfo info) {
+        if (info.statusCode() >= 200 && info.statusCode() < 300) {
+            return HttpResponse.BodySubscribers.ofInputStream();
+        }
+        return HttpResponse.BodySubscribers.replacing(null);
+    }
+    
+    private HealthCheckResult error(Service service, long startTime, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+        long responseTime = System.nanoTime() - startTime;
+        
+        if (cause instanceof HttpTimeoutException || cause instanceof TimeoutException) {
+            return HealthCheckResult.error(service, responseTime, "Timeout", HealthCheckResult.ERROR_TIMEOUT);
+        }
+        String msg = firstMessage(cause);
+        return HealthCheckResult.error(service, responseTime,
+            msg != null ? msg : "Erro de conexão", HealthCheckResult.ERROR_CONNECTION);
+    }
+    
+    /**
+     * O HttpClient costuma embrulhar a causa real (ex.: ConnectException sem mensagem)
+     */
+    private String firstMessage(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t.getMessage() != null) {
+                return t.getMessage();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Stream do corpo em leitura; fechado pelo timeout para liberar a thread bloqueada na leitura
+     */
+    private static class BodyStream {
+        private InputStream stream;
+        private boolean aborted;
+        
+        /**
+         * Registra o stream a ser lido; false se não há corpo ou se o prazo já acabou
+         */
+        boolean attach(InputStream stream) {
+            synchronized (this) {
+                if (!aborted) {
+                    this.stream = stream;
+                    return stream != null;
+                }
+            }
+            close(stream);
+            return false;
+        }
+        
+        void abort() {
+            InputStream current;
+            synchronized (this) {
+                aborted = true;
+                current = stream;
+            }
+            close(current);
+        }
+        
+        private static void close(InputStream stream) {
+            if (stream == null) {
+                return;
+            }
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Só interessa interromper a leitura
+            }
+        }
+    }
+}
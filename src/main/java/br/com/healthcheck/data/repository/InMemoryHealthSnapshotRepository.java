@@ -0,0 +1,531 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthChanges;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthCounts;
+import br.com.healthcheck.domain.entity.HealthPage;
+import br.com.healthcheck.domain.entity.HealthQuery;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthSnapshotListener;
+import br.com.healthcheck.domain.repository.HealthSnapshotRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementação em memória do snapshot de resultados.
+ * Mantém apenas o último resultado de cada serviço, na ordem da configuração,
+ * e avisa os listeners quando o estado de um serviço muda.
+ *
+ * Contagens por status (geral e por categoria) e o conjunto de serviços em cada status
+ * são atualizados a cada resultado gravado, na mesma operação atômica que troca o resultado
+ * do serviço; resumo e consultas como "só os com problema" não percorrem o snapshot.
+ * Entre duas atualizações concorrentes um serviço pode aparecer por um instante no status
+ * antigo e no novo; as contagens nunca se perdem.
+ *
+ * As consultas filtradas (find) partem do índice mais seletivo: conjunto por status, lista
+ * por categoria, nomes ordenados ou a ordem por tempo de resposta. A página seguinte é pedida
+ * com um cursor que guarda a posição do último item na ordenação (keyset), então cada página
+ * custa o seu tamanho, não o deslocamento desde o início.
+ *
+ * Trocas de status, código HTTP ou status dos componentes (e serviços removidos) vão para um
+ * log de tamanho fixo, para clientes que acompanham o snapshot pedirem só o que mudou.
+ */
+public class InMemoryHealthSnapshotRepository implements HealthSnapshotRepository {
+    private static final int STATUSES = HealthStatus.values().length;
+    
+    private final Map<String, HealthCheckResult> results = new ConcurrentHashMap<>();
+    private volatile Set<String> serviceNames = Collections.emptySet();
+    private final List<HealthSnapshotListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong version = new AtomicLong();
+    private final HealthChangeLog changeLog;
+    
+    // Índices mantidos a cada troca de status
+    private final AtomicIntegerArray statusCounts = new AtomicIntegerArray(STATUSES);
+    private final Map<String, AtomicIntegerArray> categoryCounts = new ConcurrentHashMap<>();
+    private final Map<HealthStatus, Set<String>> byStatus = new EnumMap<>(HealthStatus.class);
+    private final NavigableSet<Key> byLatency = new ConcurrentSkipListSet<>();
+    
+    // Índices da configuração, refeitos em retain
+    private volatile Map<String, List<String>> servicesByCategory = Collections.emptyMap();
+    private volatile Map<String, Integer> positions = Collections.emptyMap();
+    private volatile List<String> orderedNames = Collections.emptyList();
+    private volatile NavigableSet<String> sortedNames = Collections.emptyNavigableSet();
+    
+    /**
+     * @param changeLogCapacity mudanças de estado guardadas para getChangesSince
+     */
+    public InMemoryHealthSnapshotRepository(int changeLogCapacity) {
+        this.changeLog = new HealthChangeLog(changeLogCapacity);
+        for (HealthStatus status : HealthStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+    
+    @Override
+    public void save(HealthCheckResult result) {
+        // Resultados de serviços removidos da configuração são descartados
+        if (!serviceNames.contains(result.getServiceName())) {
+            return;
+        }
+        HealthCheckResult[] previous = new HealthCheckResult[1];
+        boolean[] saved = {false};
+        results.compute(result.getServiceName(), (name, current) -> {
+            // Conferido de novo aqui: retain pode ter removido o serviço depois da primeira verificação
+            if (!serviceNames.contains(name)) {
+                return current;
+            }
+            untrack(current);
+            track(result);
+            // Ainda dentro do compute: as mudanças do mesmo serviço entram no log na ordem em que foram gravadas
+            if (!result.hasSameStatus(current)) {
+                changeLog.append(version, name, result);
+            } else if (changesBody(current, result)) {
+                version.incrementAndGet();
+            }
+            previous[0] = current;
+            saved[0] = true;
+            return result;
+        });
+        if (!saved[0]) {
+            return;
+        }
+        if (!result.hasSameState(previous[0])) {
+            for (HealthSnapshotListener listener : listeners) {
+                try {
+                    listener.onResultChanged(result);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao notificar mudança de " + result.getServiceName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Se o novo resultado muda o JSON do serviço além do tempo de resposta e do horário
+     * (que mudam a cada verificação e não devem invalidar o ETag do snapshot)
+     */
+    private static boolean changesBody(HealthCheckResult previous, HealthCheckResult result) {
+        return !result.hasSameState(previous)
+            || !Objects.equals(result.getErrorType(), previous.getErrorType())
+            || !Objects.equals(result.getServiceUrl(), previous.getServiceUrl())
+            || !Objects.equals(result.getCategory(), previous.getCategory());
+    }
+    
+    @Override
+    public HealthCheckResult get(String serviceName) {
+        return results.get(serviceName);
+    }
+    
+    @Override
+    public List<HealthCheckResult> getAll() {
+        Set<String> names = serviceNames;
+        List<HealthCheckResult> snapshot = new ArrayList<>(names.size());
+        for (String name : names) {
+            HealthCheckResult result = results.get(name);
+            if (result != null) {
+                snapshot.add(result);
+            }
+        }
+        return snapshot;
+    }
+    
+    @Override
+    public synchronized void retain(List<Service> services) {
+        Set<String> names = new LinkedHashSet<>();
+        Map<String, List<String>> categories = new LinkedHashMap<>();
+        Map<String, Integer> order = new HashMap<>();
+        for (Service service : services) {
+            if (names.add(service.getName())) {
+                categories.computeIfAbsent(service.getCategory(), category -> new ArrayList<>()).add(service.getName());
+                order.put(service.getName(), order.size());
+            }
+        }
+        boolean changed = !names.equals(serviceNames);
+        serviceNames = Collections.unmodifiableSet(names);
+        servicesByCategory = Collections.unmodifiableMap(categories);
+        positions = order;
+        orderedNames = List.copyOf(names);
+        sortedNames = Collections.unmodifiableNavigableSet(new TreeSet<>(names));
+        
+        for (String name : new ArrayList<>(results.keySet())) {
+            if (!names.contains(name)) {
+                results.computeIfPresent(name, (key, current) -> {
+                    untrack(current);
+                    changeLog.append(version, key, null);
+                    return null;
+                });
+            }
+        }
+        // Contadores de categorias que saíram da configuração e já não têm resultados
+        for (String category : new ArrayList<>(categoryCounts.keySet())) {
+            categoryCounts.computeIfPresent(category,
+                (key, counts) -> isZero(counts) && !categories.containsKey(key) ? null : counts);
+        }
+        
+        if (changed) {
+            version.incrementAndGet();
+            for (HealthSnapshotListener listener : listeners) {
+                try {
+                    listener.onServicesChanged();
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao notificar mudança de serviços: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+    
+    @Override
+    public void addListener(HealthSnapshotListener listener) {
+        listeners.add(listener);
+    }
+    
+    @Override
+    public HealthChanges getChangesSince(long since) {
+        return changeLog.since(since, version);
+    }
+    
+    @Override
+    public HealthCounts getCounts() {
+        return toCounts(statusCounts);
+    }
+    
+    @Override
+    public Map<String, HealthCounts> getCategoryCounts() {
+        Map<String, HealthCounts> counts = new LinkedHashMap<>();
+        for (String category : servicesByCategory.keySet()) {
+            AtomicIntegerArray categoryCount = categoryCounts.get(category);
+            counts.put(category, categoryCount != null ? toCounts(categoryCount) : HealthCounts.EMPTY);
+        }
+        // Resultados ainda com a categoria antiga de um serviço que mudou de categoria
+        for (Map.Entry<String, AtomicIntegerArray> entry : categoryCounts.entrySet()) {
+            if (!counts.containsKey(entry.getKey()) && !isZero(entry.getValue())) {
+                counts.put(entry.getKey(), toCounts(entry.getValue()));
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public List<HealthCheckResult> getByStatus(HealthStatus status) {
+        Map<String, Integer> order = positions;
+        List<HealthCheckResult> matching = new ArrayList<>();
+        for (String name : byStatus.get(status)) {
+            HealthCheckResult result = results.get(name);
+            if (result != null && result.getStatus() == status && order.containsKey(name)) {
+                matching.add(result);
+            }
+        }
+        matching.sort(Comparator.comparingInt(result -> order.get(result.getServiceName())));
+        return matching;
+    }
+    
+    @Override
+    public List<HealthCheckResult> getByCategory(String category) {
+        List<String> names = servicesByCategory.getOrDefault(category, List.of());
+        List<HealthCheckResult> matching = new ArrayList<>(names.size());
+        for (String name : names) {
+            HealthCheckResult result = results.get(name);
+            if (result != null) {
+                matching.add(result);
+            }
+        }
+        return matching;
+    }
+    
+    @Override
+    public HealthPage find(HealthQuery query) {
+        Map<String, Integer> order = positions;
+        HealthQuery.Sort sort = query.getSort();
+        Key after = query.getCursor() != null ? Key.decode(sort, query.getCursor()) : null;
+        
+        Collection<String> bounded = boundedCandidates(query);
+        Iterator<Key> keys;
+        if (bounded != null) {
+            // Candidatos já restritos por um dos filtros: ordena só eles
+            List<Key> sorted = new ArrayList<>(bounded.size());
+            Comparator<Key> comparator = sort == HealthQuery.Sort.LATENCY_DESC
+                ? Comparator.<Key>reverseOrder()
+                : Comparator.<Key>naturalOrder();
+            for (String name : bounded) {
+                HealthCheckResult result = results.get(name);
+                Key key = result != null && order.containsKey(name) ? keyOf(sort, result, order) : null;
+                if (key != null && (after == null || comparator.compare(key, after) > 0)) {
+                    sorted.add(key);
+                }
+            }
+            sorted.sort(comparator);
+            keys = sorted.iterator();
+        } else {
+            keys = indexOrder(query, after, order);
+        }
+        
+        int limit = query.getLimit() > 0 ? query.getLimit() : Integer.MAX_VALUE;
+        List<HealthCheckResult> page = new ArrayList<>(Math.min(limit, 64));
+        Key last = null;
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            HealthCheckResult result = results.get(key.name);
+            if (result == null || !order.containsKey(key.name) || !query.matches(result)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new HealthPage(page, last.encode(sort));
+            }
+            page.add(result);
+            last = key;
+        }
+        return new HealthPage(page, null);
+    }
+    
+    /**
+     * Candidatos vindos do filtro mais seletivo: status ou categoria (o menor dos dois) e, quando
+     * a ordenação não é a do próprio índice, prefixo do nome ou tempo de resposta mínimo.
+     * null quando o melhor é percorrer o índice da ordenação pedida.
+     */
+    private Collection<String> boundedCandidates(HealthQuery query) {
+        Collection<String> byStatusNames = null;
+        if (!query.getStatuses().isEmpty()) {
+            // Conjunto: durante uma troca de status o serviço pode estar nos dois por um instante
+            byStatusNames = new HashSet<>();
+            for (HealthStatus status : query.getStatuses()) {
+                byStatusNames.addAll(byStatus.get(status));
+            }
+        }
+        Collection<String> byCategoryNames = null;
+        if (!query.getCategories().isEmpty()) {
+            Map<String, List<String>> categories = servicesByCategory;
+            byCategoryNames = new ArrayList<>();
+            for (String category : query.getCategories()) {
+                byCategoryNames.addAll(categories.getOrDefault(category, List.of()));
+            }
+        }
+        if (byStatusNames != null && byCategoryNames != null) {
+            return byStatusNames.size() <= byCategoryNames.size() ? byStatusNames : byCategoryNames;
+        }
+        if (byStatusNames != null || byCategoryNames != null) {
+            return byStatusNames != null ? byStatusNames : byCategoryNames;
+        }
+        
+        HealthQuery.Sort sort = query.getSort();
+        if (query.getNamePrefix() != null && sort != HealthQuery.Sort.NAME) {
+            String prefix = query.getNamePrefix();
+            return sortedNames.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+        }
+        if (query.getMinLatencyMs() >= 0 && sort != HealthQuery.Sort.LATENCY && sort != HealthQuery.Sort.LATENCY_DESC) {
+            List<String> names = new ArrayList<>();
+            for (Key key : byLatency.tailSet(new Key(query.getMinLatencyMs() * 1_000_000L, ""), true)) {
+                names.add(key.name);
+            }
+            return names;
+        }
+        return null;
+    }
+    
+    /**
+     * Percorre o índice da própria ordenação a partir do cursor, sem materializar a lista:
+     * posição na configuração, nomes ordenados (limitados ao prefixo) ou tempo de resposta
+     * (limitado ao mínimo pedido)
+     */
+    private Iterator<Key> indexOrder(HealthQuery query, Key after, Map<String, Integer> order) {
+        switch (query.getSort()) {
+            case NAME: {
+                NavigableSet<String> names = sortedNames;
+                String prefix = query.getNamePrefix();
+                if (prefix != null) {
+                    names = names.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+                }
+                if (after != null) {
+                    names = after(names, after.name);
+                }
+                return names.stream().map(name -> new Key(0, name)).iterator();
+            }
+            case LATENCY:
+            case LATENCY_DESC: {
+                NavigableSet<Key> range = byLatency;
+                if (query.getMinLatencyMs() >= 0) {
+                    range = range.tailSet(new Key(query.getMinLatencyMs() * 1_000_000L, ""), true);
+                }
+                if (query.getSort() == HealthQuery.Sort.LATENCY) {
+                    return (after != null ? after(range, after) : range).iterator();
+                }
+                return (after != null ? before(range, after) : range).descendingIterator();
+            }
+            default: {
+                List<String> names = orderedNames;
+                int from = after != null ? (int) Math.min(Math.max(after.rank + 1, 0), names.size()) : 0;
+                List<String> tail = names.subList(from, names.size());
+                return tail.stream().map(name -> new Key(order.getOrDefault(name, 0), name)).iterator();
+            }
+        }
+    }
+    
+    /**
+     * Elementos maiores que key; subconjuntos não aceitam chaves fora do próprio intervalo
+     */
+    private static <T extends Comparable<? super T>> NavigableSet<T> after(NavigableSet<T> range, T key) {
+        if (range.isEmpty() || key.compareTo(range.first()) < 0) {
+            return range;
+        }
+        if (key.compareTo(range.last()) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return range.tailSet(key, false);
+    }
+    
+    /**
+     * Elementos menores que key, com o mesmo cuidado de after
+     */
+    private static <T extends Comparable<? super T>> NavigableSet<T> before(NavigableSet<T> range, T key) {
+        if (range.isEmpty() || key.compareTo(range.first()) <= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        if (key.compareTo(range.last()) > 0) {
+            return range;
+        }
+        return range.headSet(key, false);
+    }
+    
+    private static Key keyOf(HealthQuery.Sort sort, HealthCheckResult result, Map<String, Integer> order) {
+        switch (sort) {
+            case NAME:
+                return new Key(0, result.getServiceName());
+            case LATENCY:
+            case LATENCY_DESC:
+                return new Key(result.getResponseTimeNanos(), result.getServiceName());
+            default:
+                return new Key(order.get(result.getServiceName()), result.getServiceName());
+        }
+    }
+    
+    /**
+     * Soma o resultado aos índices; chamado dentro do compute do serviço
+     */
+    private void track(HealthCheckResult result) {
+        int status = result.getStatus().ordinal();
+        statusCounts.incrementAndGet(status);
+        // compute (e não computeIfAbsent + incremento) para não correr com a limpeza de retain
+        categoryCounts.compute(result.getCategory(), (category, counts) -> {
+            AtomicIntegerArray updated = counts != null ? counts : new AtomicIntegerArray(STATUSES);
+            updated.incrementAndGet(status);
+            return updated;
+        });
+        byStatus.get(result.getStatus()).add(result.getServiceName());
+        byLatency.add(new Key(result.getResponseTimeNanos(), result.getServiceName()));
+    }
+    
+    /**
+     * Retira dos índices o resultado que está sendo substituído ou removido
+     */
+    private void untrack(HealthCheckResult result) {
+        if (result == null) {
+            return;
+        }
+        int status = result.getStatus().ordinal();
+        statusCounts.decrementAndGet(status);
+        categoryCounts.computeIfPresent(result.getCategory(), (category, counts) -> {
+            counts.decrementAndGet(status);
+            return counts;
+        });
+        byStatus.get(result.getStatus()).remove(result.getServiceName());
+        byLatency.remove(new Key(result.getResponseTimeNanos(), result.getServiceName()));
+    }
+    
+    private static boolean isZero(AtomicIntegerArray counts) {
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static HealthCounts toCounts(AtomicIntegerArray counts) {
+        int[] values = new int[counts.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counts.get(i);
+        }
+        return HealthCounts.of(values);
+    }
+    
+    /**
+     * Posição de um serviço numa ordenação: rank (posição na configuração, tempo de resposta
+     * em ns ou 0 na ordem por nome) e o nome como desempate. É também o conteúdo do cursor.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final long rank;
+        private final String name;
+        
+        Key(long rank, String name) {
+            this.rank = rank;
+            this.name = name;
+        }
+        
+        @Override
+        public int compareTo(Key other) {
+            int byRank = Long.compare(rank, other.rank);
+            return byRank != 0 ? byRank : name.compareTo(other.name);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return rank == other.rank && name.equals(other.name);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(rank) + name.hashCode();
+        }
+        
+        /**
+         * Cursor opaco: ordenação, rank e nome em Base64 (URL)
+         */
+        String encode(HealthQuery.Sort sort) {
+            String raw = sort.ordinal() + ":" + rank + ":" + name;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Key decode(HealthQuery.Sort sort, String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int first = raw.indexOf(':');
+                int second = raw.indexOf(':', first + 1);
+                if (first > 0 && second > first && Integer.parseInt(raw.substring(0, first)) == sort.ordinal()) {
+                    return new Key(Long.parseLong(raw.substring(first + 1, second)), raw.substring(second + 1));
+                }
+            } catch (IllegalArgumentException e) {
+                // Base64 ou número inválido: mesmo erro de um cursor de outra ordenação
+            }
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
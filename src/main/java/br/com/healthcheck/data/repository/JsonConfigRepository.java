@@ -4,81 +4,52 @@ import br.com.healthcheck.domain.entity.Service;
 import br.com.healthcheck.domain.repository.ConfigRepository;
 import br.com.healthcheck.infrastructure.util.JsonParser;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Implementação do repositório de configuração usando arquivo JSON
+ * Implementação do repositório de configuração usando arquivo JSON.
+ * O arquivo é lido uma vez e mantido como snapshot imutável em memória; o snapshot é
+ * substituído atomicamente quando o arquivo muda em disco (WatchService) ou em saveConfig.
+ * Arquivo removido ou inválido não derruba a configuração: o snapshot anterior continua valendo.
  */
 public class JsonConfigRepository implements ConfigRepository {
     private final String configFilePath;
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
     
     public JsonConfigRepository(String configFilePath) {
         this.configFilePath = configFilePath;
+        reload();
+        startWatcher();
     }
     
     @Override
     public List<Service> getServices() {
-        try {
-            if (!Files.exists(Paths.get(configFilePath))) {
-                return new ArrayList<>();
-            }
-            
-            String content = new String(
-                Files.readAllBytes(Paths.get(configFilePath)), 
-                StandardCharsets.UTF_8
-            );
-            
-            JsonParser.JsonObject config = JsonParser.JsonObject.parse(content);
-            JsonParser.JsonArray servicesArray = config.getArray("services");
-            List<Service> services = new ArrayList<>();
-            
-            for (int i = 0; i < servicesArray.size(); i++) {
-                JsonParser.JsonObject serviceObj = servicesArray.getObject(i);
-                services.add(new Service(
-                    serviceObj.getString("name"),
-                    serviceObj.getString("url"),
-                    serviceObj.getString("category", "Geral"),
-                    serviceObj.getInt("expectedStatus", 200)
-                ));
-            }
-            
-            return services;
-        } catch (Exception e) {
-            System.err.println("Erro ao ler configuração: " + e.getMessage());
-            return new ArrayList<>();
-        }
+        return snapshot.get().services;
     }
     
     @Override
     public int getRefreshInterval() {
-        try {
-            String content = new String(
-                Files.readAllBytes(Paths.get(configFilePath)), 
-                StandardCharsets.UTF_8
-            );
-            JsonParser.JsonObject config = JsonParser.JsonObject.parse(content);
-            return config.getInt("refreshInterval", 30000);
-        } catch (Exception e) {
-            return 30000;
-        }
+        return snapshot.get().refreshInterval;
     }
     
     @Override
     public int getTimeout() {
-        try {
-            String content = new String(
-                Files.readAllBytes(Paths.get(configFilePath)), 
-                StandardCharsets.UTF_8
-            );
-            JsonParser.JsonObject config = JsonParser.JsonObject.parse(content);
-            return config.getInt("timeout", 5000);
-        } catch (Exception e) {
-            return 5000;
-        }
+        return snapshot.get().timeout;
     }
     
     @Override
@@ -95,18 +66,154 @@ public class JsonConfigRepository implements ConfigRepository {
                 serviceObj.put("url", service.getUrl());
                 serviceObj.put("category", service.getCategory());
                 serviceObj.put("expectedStatus", service.getExpectedStatus());
+                if (service.getMaxBodyBytes() > 0) {
+                    serviceObj.put("maxBodyBytes", service.getMaxBodyBytes());
+                }
+                if (service.getMinInterval() > 0) {
+                    serviceObj.put("minInterval", service.getMinInterval());
+                }
+                if (service.getMaxInterval() > 0) {
+                    serviceObj.put("maxInterval", service.getMaxInterval());
+                }
+                if (service.getTimeout() > 0) {
+                    serviceObj.put("timeout", service.getTimeout());
+                }
                 servicesArray.add(serviceObj);
             }
             
             config.put("services", servicesArray);
             
-            Files.write(
-                Paths.get(configFilePath),
-                config.toJsonString().getBytes(StandardCharsets.UTF_8)
-            );
+            writeAtomically(config.toJsonString().getBytes(StandardCharsets.UTF_8));
+            
+            // Publica o novo snapshot sem reler o arquivo que acabou de ser gravado
+            snapshot.set(new ConfigSnapshot(services, refreshInterval, timeout));
         } catch (IOException e) {
             throw new RuntimeException("Erro ao salvar configuração", e);
         }
     }
+    
+    /**
+     * Grava num arquivo temporário do mesmo diretório e o move sobre o arquivo de configuração:
+     * o watcher (e quem mais ler o arquivo) nunca vê o conteúdo pela metade
+     */
+    private void writeAtomically(byte[] content) throws IOException {
+        Path file = Paths.get(configFilePath).toAbsolutePath();
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Relê o arquivo e publica um novo snapshot. Se o arquivo sumiu ou não pôde ser lido
+     * (ex.: gravação em andamento por um editor), mantém o último snapshot válido; só começa
+     * sem serviços se não houver nenhum.
+     */
+    private void reload() {
+        try {
+            if (!Files.exists(Paths.get(configFilePath))) {
+                if (!snapshot.compareAndSet(null, new ConfigSnapshot(new ArrayList<>(), 30000, 5000))) {
+                    System.err.println("Arquivo " + configFilePath + " não encontrado; mantendo a configuração anterior");
+                }
+                return;
+            }
+            
+            String content = new String(
+                Files.readAllBytes(Paths.get(configFilePath)),
+                StandardCharsets.UTF_8
+            );
+            
+            JsonParser.JsonObject config = JsonParser.JsonObject.parse(content);
+            JsonParser.JsonArray servicesArray = config.getArray("services");
+            List<Service> services = new ArrayList<>();
+            
+            for (int i = 0; i < servicesArray.size(); i++) {
+                JsonParser.JsonObject serviceObj = servicesArray.getObject(i);
+                Service service = new Service(
+                    serviceObj.getString("name"),
+                    serviceObj.getString("url"),
+                    serviceObj.getString("category", "Geral"),
+                    serviceObj.getInt("expectedStatus", 200)
+                );
+                services.add(service
+                    .withMaxBodyBytes(serviceObj.getInt("maxBodyBytes", 0))
+                    .withMinInterval(serviceObj.getInt("minInterval", 0))
+                    .withMaxInterval(serviceObj.getInt("maxInterval", 0))
+                    .withTimeout(serviceObj.getInt("timeout", 0)));
+            }
+            
+            snapshot.set(new ConfigSnapshot(
+                services,
+                config.getInt("refreshInterval", 30000),
+                config.getInt("timeout", 5000)
+            ));
+        } catch (Exception e) {
+            System.err.println("Erro ao ler configuração " + configFilePath + "; mantendo a anterior: " + e.getMessage());
+            snapshot.compareAndSet(null, new ConfigSnapshot(new ArrayList<>(), 30000, 5000));
+        }
+    }
+    
+    private void startWatcher() {
+        Path file = Paths.get(configFilePath).toAbsolutePath();
+        Path dir = file.getParent();
+        Path fileName = file.getFileName();
+        
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("Não foi possível monitorar " + configFilePath + ": " + e.getMessage());
+            return;
+        }
+        
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (fileName.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        reload();
+                    }
+                    if (!key.reset()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Encerrando
+            }
+        }, "config-watcher-" + fileName);
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+    
+    /**
+     * Configuração já interpretada; nunca é alterada depois de publicada
+     */
+    private static class ConfigSnapshot {
+        private final List<Service> services;
+        private final int refreshInterval;
+        private final int timeout;
+        
+        ConfigSnapshot(List<Service> services, int refreshInterval, int timeout) {
+            this.services = Collections.unmodifiableList(new ArrayList<>(services));
+            this.refreshInterval = refreshInterval;
+            this.timeout = timeout;
+        }
+    }
 }
-
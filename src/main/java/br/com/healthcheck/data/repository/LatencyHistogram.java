@@ -0,0 +1,137 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.LatencySummary;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histograma de latência em nanossegundos, com buckets logarítmicos e janela deslizante.
+ *
+ * Cada potência de 2 é dividida em 8 buckets (erro relativo de até 12,5%), de 1µs a ~137s;
+ * valores fora da faixa caem no primeiro ou no último bucket. O tempo é dividido em fatias
+ * de um minuto num anel de SLICES posições; uma consulta soma as fatias dentro da janela.
+ * A gravação não usa locks: incrementos atômicos e troca da fatia por compareAndSet
+ * quando o minuto vira.
+ */
+class LatencyHistogram {
+    static final int SLICES = 15;
+    private static final long SLICE_MS = 60_000L;
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MIN_EXPONENT = 10; // 2^10 ns ~ 1µs
+    private static final int MAX_EXPONENT = 37; // 2^37 ns ~ 137s
+    static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+    
+    private final AtomicReferenceArray<Slice> slices = new AtomicReferenceArray<>(SLICES);
+    
+    void record(long nanos) {
+        recordAt(nanos, System.currentTimeMillis());
+    }
+    
+    void recordAt(long nanos, long nowMillis) {
+        long epoch = nowMillis / SLICE_MS;
+        int index = (int) (epoch % SLICES);
+        Slice slice = slices.get(index);
+        while (slice == null || slice.epoch != epoch) {
+            if (slice != null && slice.epoch > epoch) {
+                return; // gravação atrasada de uma fatia que já saiu do anel
+            }
+            Slice fresh = new Slice(epoch);
+            if (slices.compareAndSet(index, slice, fresh)) {
+                slice = fresh;
+            } else {
+                slice = slices.get(index);
+            }
+        }
+        slice.counts.incrementAndGet(bucketOf(nanos));
+        slice.total.incrementAndGet();
+        slice.max.accumulateAndGet(nanos, Math::max);
+    }
+    
+    /**
+     * Percentis dos últimos windowMinutes (incluindo o minuto corrente), ou null se vazio
+     */
+    LatencySummary summary(int windowMinutes) {
+        int[] counts = new int[BUCKETS];
+        long[] totals = new long[2]; // total, max
+        if (!accumulate(windowMinutes, System.currentTimeMillis(), counts, totals)) {
+            return null;
+        }
+        return summarize(counts, totals[0], totals[1]);
+    }
+    
+    /**
+     * Soma as fatias da janela nos arrays informados; usado também para agregar categorias
+     */
+    boolean accumulate(int windowMinutes, long nowMillis, int[] counts, long[] totals) {
+        long epoch = nowMillis / SLICE_MS;
+        long oldest = epoch - Math.min(Math.max(windowMinutes, 1), SLICES) + 1;
+        boolean any = false;
+        for (int i = 0; i < SLICES; i++) {
+            Slice slice = slices.get(i);
+            if (slice == null || slice.epoch < oldest || slice.epoch > epoch) {
+                continue;
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] += slice.counts.get(b);
+            }
+            totals[0] += slice.total.get();
+            totals[1] = Math.max(totals[1], slice.max.get());
+            any = true;
+        }
+        return any && totals[0] > 0;
+    }
+    
+    static LatencySummary summarize(int[] counts, long total, long max) {
+        return new LatencySummary(
+            total,
+            percentile(counts, total, max, 0.50),
+            percentile(counts, total, max, 0.90),
+            percentile(counts, total, max, 0.99),
+            max
+        );
+    }
+    
+    private static long percentile(int[] counts, long total, long max, double p) {
+        long target = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= target) {
+                // Limite superior do bucket, sem passar do maior valor observado
+                return Math.min(upperBound(b), max);
+            }
+        }
+        return max;
+    }
+    
+    static int bucketOf(long nanos) {
+        if (nanos < (1L << MIN_EXPONENT)) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int mantissa = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + mantissa;
+    }
+    
+    static long upperBound(int bucket) {
+        int exponent = bucket / SUB_BUCKETS + MIN_EXPONENT;
+        int mantissa = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BITS)) - 1;
+    }
+    
+    private static class Slice {
+        private final long epoch;
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        
+        Slice(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthHistoryRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histórico em memória (buffers circulares) com cópia durável num log de segmentos
+ * mapeados em disco. Ao iniciar, o histórico em memória é restaurado a partir do log;
+ * consultas que vão além do que cabe em memória completam o início da janela varrendo o log.
+ *
+ * As consultas têm sempre o formato da memória, qualquer que seja a janela: uma amostra por
+ * intervalo de slotSeconds, com a verificação mais grave do intervalo, o tempo de resposta
+ * quantizado e o horário de início do intervalo. As verificações lidas do log são agrupadas
+ * da mesma forma antes de entrar na resposta.
+ */
+public class PersistentHealthHistoryRepository implements HealthHistoryRepository, Closeable {
+    private final RingBufferHealthHistoryRepository memory;
+    private final ProbeSegmentLog log;
+    private volatile boolean logFailed;
+    
+    public PersistentHealthHistoryRepository(RingBufferHealthHistoryRepository memory,
+                                             Path directory,
+                                             int segmentBytes,
+                                             int maxSegments,
+                                             long flushIntervalMs) throws IOException {
+        this.memory = memory;
+        this.log = new ProbeSegmentLog(directory, segmentBytes, maxSegments, flushIntervalMs);
+    }
+    
+    /**
+     * Recarrega na memória as verificações gravadas dos serviços configurados.
+     * Devolve quantas amostras foram restauradas.
+     */
+    public int restore(List<Service> services) {
+        Map<Long, String> names = new HashMap<>();
+        for (Service service : services) {
+            names.put(ProbeSegmentLog.hash(service.getName()), service.getName());
+        }
+        memory.retain(services);
+        
+        int[] restored = new int[1];
+        log.forEach((serviceHash, epochMillis, responseTime, statusCode, status) -> {
+            String name = names.get(serviceHash);
+            if (name != null) {
+                memory.append(name, epochMillis, responseTime, statusCode, status);
+                restored[0]++;
+            }
+        });
+        return restored[0];
+    }
+    
+    @Override
+    public void record(HealthCheckResult result) {
+        memory.record(result);
+        try {
+            log.append(
+                ProbeSegmentLog.hash(result.getServiceName()),
+                result.getTimestamp(),
+                result.getResponseTime(),
+                result.getStatusCode(),
+                HealthHistory.statusOf(result.getStatus())
+            );
+            logFailed = false;
+        } catch (IOException | RuntimeException e) {
+            // Sem disco o histórico continua em memória; avisa uma vez por sequência de falhas
+            if (!logFailed) {
+                logFailed = true;
+                System.err.println("Erro ao gravar histórico em disco: " + e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public HealthHistory query(String serviceName, long sinceMillis) {
+        HealthHistory recent = memory.query(serviceName, sinceMillis);
+        long discardedBefore = memory.getDiscardedBefore(serviceName);
+        if (recent == null || sinceMillis >= discardedBefore) {
+            return recent;
+        }
+        // Janela começando antes do que ainda está em memória: o trecho anterior só está no log
+        HealthHistory logged = log.scan(serviceName, ProbeSegmentLog.hash(serviceName), sinceMillis, discardedBefore);
+        return concat(memory.toSlots(logged, sinceMillis), recent);
+    }
+    
+    @Override
+    public void retain(List<Service> services) {
+        memory.retain(services);
+    }
+    
+    @Override
+    public void close() {
+        log.close();
+    }
+    
+    private static HealthHistory concat(HealthHistory older, HealthHistory recent) {
+        if (older.size() == 0) {
+            return recent;
+        }
+        int size = older.size() + recent.size();
+        long[] timestamps = new long[size];
+        int[] responseTimes = new int[size];
+        int[] statusCodes = new int[size];
+        byte[] statuses = new byte[size];
+        int i = 0;
+        for (HealthHistory part : new HealthHistory[] {older, recent}) {
+            for (int j = 0; j < part.size(); j++, i++) {
+                timestamps[i] = part.getTimestamp(j);
+                responseTimes[i] = part.getResponseTime(j);
+                statusCodes[i] = part.getStatusCode(j);
+                statuses[i] = part.getStatus(j);
+            }
+        }
+        return new HealthHistory(recent.getServiceName(), timestamps, responseTimes, statusCodes, statuses);
+    }
+}
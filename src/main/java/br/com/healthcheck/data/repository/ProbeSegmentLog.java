@@ -0,0 +1,353 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthHistory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Log binário só de acréscimo com as verificações, em segmentos de tamanho fixo mapeados
+ * em memória (probes-00000000000000000001.log, ...).
+ *
+ * Cada registro tem 32 bytes:
+ *   0  long  horário (epoch millis)
+ *   8  long  hash do nome do serviço (FNV-1a 64)
+ *   16 int   tempo de resposta (ms)
+ *   20 short código HTTP
+ *   22 byte  status (HealthHistory.STATUS_*)
+ *   23 byte  versão do formato
+ *   24 int   reservado
+ *   28 int   CRC32C dos 28 bytes anteriores
+ *
+ * O acréscimo só escreve no mapeamento (page cache), sem fsync; uma thread força os
+ * segmentos para o disco a cada flushIntervalMs. Um crash do processo não perde nada;
+ * uma queda do sistema perde no máximo o último intervalo. Na abertura, cada segmento é
+ * lido até o primeiro registro inválido, que marca o fim do que foi gravado.
+ */
+class ProbeSegmentLog implements Closeable {
+    static final int RECORD_BYTES = 32;
+    private static final int CHECKED_BYTES = 28;
+    private static final byte FORMAT_VERSION = 1;
+    private static final String PREFIX = "probes-";
+    private static final String SUFFIX = ".log";
+    
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService flusher;
+    private Segment current;
+    private boolean dirty;
+    
+    ProbeSegmentLog(Path directory, int segmentBytes, int maxSegments, long flushIntervalMs) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = Math.max(segmentBytes / RECORD_BYTES, 1);
+        this.maxSegments = Math.max(maxSegments, 1);
+        Files.createDirectories(directory);
+        recover();
+        
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "probe-log-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Acrescenta um registro ao segmento atual, abrindo um novo quando ele enche
+     */
+    synchronized void append(long serviceHash, long epochMillis, long responseTime, int statusCode, byte status)
+            throws IOException {
+        if (current.count == recordsPerSegment) {
+            rotate();
+        }
+        
+        record.clear();
+        record.putLong(epochMillis);
+        record.putLong(serviceHash);
+        record.putInt((int) Math.min(Math.max(responseTime, 0), Integer.MAX_VALUE));
+        record.putShort((short) statusCode);
+        record.put(status);
+        record.put(FORMAT_VERSION);
+        record.putInt(0);
+        crc.reset();
+        crc.update(record.array(), 0, CHECKED_BYTES);
+        record.putInt((int) crc.getValue());
+        
+        current.writer.position(current.count * RECORD_BYTES);
+        current.writer.put(record.array(), 0, RECORD_BYTES);
+        current.include(epochMillis);
+        current.count++;
+        dirty = true;
+    }
+    
+    /**
+     * Percorre os registros do serviço com horário em [sinceMillis, untilMillis) direto nos
+     * segmentos mapeados, sem copiá-los para o heap. Os registros saem na ordem de gravação,
+     * que não é necessariamente a cronológica.
+     */
+    HealthHistory scan(String serviceName, long serviceHash, long sinceMillis, long untilMillis) {
+        Segment[] snapshot;
+        synchronized (this) {
+            snapshot = segments.toArray(new Segment[0]);
+        }
+        
+        Columns columns = new Columns();
+        for (Segment segment : snapshot) {
+            int count = segment.count;
+            // Verificações chegam fora de ordem: o segmento só é pulado pelo menor e maior horário dele
+            if (count == 0 || segment.maxTimestamp < sinceMillis || segment.minTimestamp >= untilMillis) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                int offset = i * RECORD_BYTES;
+                long timestamp = segment.map.getLong(offset);
+                if (segment.map.getLong(offset + 8) == serviceHash && timestamp >= sinceMillis && timestamp < untilMillis) {
+                    columns.add(
+                        timestamp,
+                        segment.map.getInt(offset + 16),
+                        segment.map.getShort(offset + 20),
+                        segment.map.get(offset + 22)
+                    );
+                }
+            }
+        }
+        return columns.toHistory(serviceName);
+    }
+    
+    /**
+     * Entrega todos os registros válidos, do mais antigo ao mais recente
+     */
+    void forEach(RecordVisitor visitor) {
+        Segment[] snapshot;
+        synchronized (this) {
+            snapshot = segments.toArray(new Segment[0]);
+        }
+        for (Segment segment : snapshot) {
+            int count = segment.count;
+            for (int i = 0; i < count; i++) {
+                int offset = i * RECORD_BYTES;
+                visitor.visit(
+                    segment.map.getLong(offset + 8),
+                    segment.map.getLong(offset),
+                    segment.map.getInt(offset + 16),
+                    segment.map.getShort(offset + 20),
+                    segment.map.get(offset + 22)
+                );
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+    
+    static long hash(String serviceName) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < serviceName.length(); i++) {
+            hash ^= serviceName.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private void flush() {
+        Segment segment;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            segment = current;
+        }
+        segment.map.force();
+    }
+    
+    private void rotate() throws IOException {
+        Segment sealed = current;
+        current = openSegment(sealed.sequence + 1);
+        segments.add(current);
+        // O segmento cheio vai para o disco fora do caminho de escrita
+        flusher.execute(sealed.map::force);
+        
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.poll();
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                System.err.println("Não foi possível remover " + oldest.path + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Reabre os segmentos existentes e localiza o fim válido de cada um
+     */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+        
+        for (Path file : files) {
+            long sequence;
+            try {
+                String name = file.getFileName().toString();
+                sequence = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            Segment segment = openSegment(sequence);
+            segment.count = countValid(segment);
+            for (int i = 0; i < segment.count; i++) {
+                segment.include(segment.map.getLong(i * RECORD_BYTES));
+            }
+            segments.add(segment);
+        }
+        
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.poll().path);
+        }
+        
+        Segment last = segments.peekLast();
+        if (last != null && last.count < recordsPerSegment) {
+            // Limpa restos depois do último registro válido (gravações interrompidas)
+            clearTail(last);
+            current = last;
+        } else {
+            current = openSegment(last != null ? last.sequence + 1 : 1);
+            segments.add(current);
+        }
+    }
+    
+    private Segment openSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        long size = (long) recordsPerSegment * RECORD_BYTES;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            if (file.length() != size) {
+                file.setLength(size);
+            }
+            // O mapeamento continua válido depois de fechar o canal
+            return new Segment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+    
+    private int countValid(Segment segment) {
+        ByteBuffer view = segment.map.duplicate();
+        for (int i = 0; i < recordsPerSegment; i++) {
+            int offset = i * RECORD_BYTES;
+            if (segment.map.get(offset + 23) != FORMAT_VERSION) {
+                return i;
+            }
+            view.limit(offset + CHECKED_BYTES).position(offset);
+            crc.reset();
+            crc.update(view);
+            if ((int) crc.getValue() != segment.map.getInt(offset + CHECKED_BYTES)) {
+                return i;
+            }
+        }
+        return recordsPerSegment;
+    }
+    
+    private void clearTail(Segment segment) {
+        for (int i = segment.count; i < recordsPerSegment; i++) {
+            int offset = i * RECORD_BYTES;
+            if (segment.map.getLong(offset) == 0 && segment.map.getLong(offset + 24) == 0) {
+                return;
+            }
+            for (int b = 0; b < RECORD_BYTES; b += 8) {
+                segment.map.putLong(offset + b, 0L);
+            }
+        }
+    }
+    
+    interface RecordVisitor {
+        void visit(long serviceHash, long epochMillis, int responseTime, int statusCode, byte status);
+    }
+    
+    private static class Segment {
+        private final Path path;
+        private final long sequence;
+        private final MappedByteBuffer map;
+        private final ByteBuffer writer;
+        private volatile int count;
+        // Atualizados antes de count: quem lê count vê os limites dos registros contados
+        private volatile long minTimestamp = Long.MAX_VALUE;
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+        
+        Segment(Path path, long sequence, MappedByteBuffer map) {
+            this.path = path;
+            this.sequence = sequence;
+            this.map = map;
+            this.writer = map.duplicate();
+        }
+        
+        void include(long epochMillis) {
+            if (epochMillis < minTimestamp) {
+                minTimestamp = epochMillis;
+            }
+            if (epochMillis > maxTimestamp) {
+                maxTimestamp = epochMillis;
+            }
+        }
+    }
+    
+    /**
+     * Colunas primitivas que crescem sob demanda durante uma varredura
+     */
+    private static class Columns {
+        private long[] timestamps = new long[64];
+        private int[] responseTimes = new int[64];
+        private int[] statusCodes = new int[64];
+        private byte[] statuses = new byte[64];
+        private int size;
+        
+        void add(long timestamp, int responseTime, int statusCode, byte status) {
+            if (size == timestamps.length) {
+                int length = size * 2;
+                timestamps = Arrays.copyOf(timestamps, length);
+                responseTimes = Arrays.copyOf(responseTimes, length);
+                statusCodes = Arrays.copyOf(statusCodes, length);
+                statuses = Arrays.copyOf(statuses, length);
+            }
+            timestamps[size] = timestamp;
+            responseTimes[size] = responseTime;
+            statusCodes[size] = statusCode;
+            statuses[size] = status;
+            size++;
+        }
+        
+        HealthHistory toHistory(String serviceName) {
+            return new HealthHistory(
+                serviceName,
+                Arrays.copyOf(timestamps, size),
+                Arrays.copyOf(responseTimes, size),
+                Arrays.copyOf(statusCodes, size),
+                Arrays.copyOf(statuses, size)
+            );
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.ProbeMetricsRepository;
+import br.com.healthcheck.infrastructure.metrics.ExpositionWriter;
+import br.com.healthcheck.infrastructure.metrics.Histogram;
+import br.com.healthcheck.infrastructure.metrics.MetricsSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Métricas das verificações no formato do Prometheus: estado (up), contagem por resultado,
+ * erros por motivo, histograma de duração e horário da última verificação de cada serviço.
+ *
+ * Um único registro atende todos os ambientes (rótulo environment), para que cada família
+ * apareça uma vez na coleta; cada ambiente grava pela sua visão (forEnvironment).
+ * As séries de cada serviço são criadas com os rótulos já codificados quando a configuração
+ * é lida (retain); a gravação só incrementa contadores atômicos e a coleta percorre um
+ * array imutável de séries, sem alocar.
+ */
+public class PrometheusProbeMetricsRepository implements MetricsSource {
+    private static final double[] BOUNDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final String[] RESULTS = {"healthy", "unhealthy", "error"};
+    private static final String[] REASONS = {
+        HealthCheckResult.ERROR_TIMEOUT, HealthCheckResult.ERROR_CONNECTION, HealthCheckResult.ERROR_REJECTED,
+        HealthCheckResult.ERROR_CIRCUIT_OPEN, "other"
+    };
+    
+    private static final byte[] UP_HEADER = ExpositionWriter.header(
+        "healthcheck_up", "gauge", "1 se a última verificação do serviço foi saudável, 0 caso contrário");
+    private static final byte[] UP = ExpositionWriter.encode("healthcheck_up");
+    private static final byte[] PROBES_HEADER = ExpositionWriter.header(
+        "healthcheck_probes_total", "counter", "Verificações concluídas por resultado");
+    private static final byte[] PROBES = ExpositionWriter.encode("healthcheck_probes_total");
+    private static final byte[] ERRORS_HEADER = ExpositionWriter.header(
+        "healthcheck_probe_errors_total", "counter", "Verificações com erro por motivo");
+    private static final byte[] ERRORS = ExpositionWriter.encode("healthcheck_probe_errors_total");
+    private static final Histogram.Family DURATION = new Histogram.Family(
+        "healthcheck_probe_duration_seconds", "Tempo de resposta das verificações");
+    private static final byte[] LAST_HEADER = ExpositionWriter.header(
+        "healthcheck_last_probe_timestamp_seconds", "gauge", "Horário da última verificação (epoch)");
+    private static final byte[] LAST = ExpositionWriter.encode("healthcheck_last_probe_timestamp_seconds");
+    
+    // Mapas por ambiente nunca são alterados depois de publicados; retain troca o mapa inteiro
+    private final Map<String, Map<String, ServiceSeries>> environments = new ConcurrentHashMap<>();
+    private volatile ServiceSeries[] series = new ServiceSeries[0];
+    
+    /**
+     * Repositório de métricas de um ambiente, gravando neste registro
+     */
+    public ProbeMetricsRepository forEnvironment(String environment) {
+        environments.putIfAbsent(environment, Map.of());
+        return new EnvironmentMetrics(environment);
+    }
+    
+    private void record(String environment, HealthCheckResult result) {
+        Map<String, ServiceSeries> byName = environments.get(environment);
+        ServiceSeries service = byName != null ? byName.get(result.getServiceName()) : null;
+        if (service == null) {
+            return; // serviço removido da configuração (ou ainda não registrado)
+        }
+        
+        int resultIndex = indexOf(RESULTS, result.getStatus().getValue());
+        if (resultIndex >= 0) {
+            service.probes.incrementAndGet(resultIndex);
+        }
+        if (result.getStatus() == HealthStatus.ERROR) {
+            int reason = indexOf(REASONS, result.getErrorType());
+            service.errors.incrementAndGet(reason >= 0 ? reason : REASONS.length - 1);
+        }
+        if (result.getResponseTimeNanos() > 0) {
+            service.duration.observe(result.getResponseTimeNanos());
+        }
+        service.up = result.getStatus() == HealthStatus.HEALTHY ? 1 : 0;
+        service.lastProbeMillis = System.currentTimeMillis();
+    }
+    
+    private void recordRejected(String environment, String serviceName) {
+        Map<String, ServiceSeries> byName = environments.get(environment);
+        ServiceSeries service = byName != null ? byName.get(serviceName) : null;
+        if (service != null) {
+            service.errors.incrementAndGet(indexOf(REASONS, HealthCheckResult.ERROR_REJECTED));
+        }
+    }
+    
+    private synchronized void retain(String environment, List<Service> services) {
+        Map<String, ServiceSeries> current = environments.getOrDefault(environment, Map.of());
+        Map<String, ServiceSeries> next = new HashMap<>();
+        for (Service service : services) {
+            String category = service.getCategory() != null ? service.getCategory() : "Geral";
+            ServiceSeries existing = current.get(service.getName());
+            // Mudança de categoria muda os rótulos: a série recomeça
+            next.put(service.getName(), existing != null && existing.category.equals(category)
+                ? existing
+                : new ServiceSeries(environment, service.getName(), category));
+        }
+        environments.put(environment, next);
+        
+        List<ServiceSeries> all = new ArrayList<>();
+        for (Map<String, ServiceSeries> byName : environments.values()) {
+            all.addAll(byName.values());
+        }
+        ServiceSeries[] ordered = all.toArray(new ServiceSeries[0]);
+        Arrays.sort(ordered, (a, b) -> a.environment.equals(b.environment)
+            ? a.name.compareTo(b.name)
+            : a.environment.compareTo(b.environment));
+        series = ordered;
+    }
+    
+    @Override
+    public void writeTo(ExpositionWriter out) {
+        ServiceSeries[] current = series;
+        
+        out.write(UP_HEADER);
+        for (ServiceSeries service : current) {
+            if (service.up >= 0) {
+                out.sample(UP, service.labels, service.up);
+            }
+        }
+        
+        out.write(PROBES_HEADER);
+        for (ServiceSeries service : current) {
+            for (int i = 0; i < RESULTS.length; i++) {
+                out.sample(PROBES, service.resultLabels[i], service.probes.get(i));
+            }
+        }
+        
+        out.write(ERRORS_HEADER);
+        for (ServiceSeries service : current) {
+            for (int i = 0; i < REASONS.length; i++) {
+                out.sample(ERRORS, service.reasonLabels[i], service.errors.get(i));
+            }
+        }
+        
+        out.write(DURATION.getHeader());
+        for (ServiceSeries service : current) {
+            service.duration.writeTo(out, DURATION);
+        }
+        
+        out.write(LAST_HEADER);
+        for (ServiceSeries service : current) {
+            if (service.lastProbeMillis > 0) {
+                out.sample(LAST, service.labels, service.lastProbeMillis / 1000);
+            }
+        }
+    }
+    
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private class EnvironmentMetrics implements ProbeMetricsRepository {
+        private final String environment;
+        
+        EnvironmentMetrics(String environment) {
+            this.environment = environment;
+        }
+        
+        @Override
+        public void record(HealthCheckResult result) {
+            PrometheusProbeMetricsRepository.this.record(environment, result);
+        }
+        
+        @Override
+        public void recordRejected(String serviceName) {
+            PrometheusProbeMetricsRepository.this.recordRejected(environment, serviceName);
+        }
+        
+        @Override
+        public void retain(List<Service> services) {
+            PrometheusProbeMetricsRepository.this.retain(environment, services);
+        }
+    }
+    
+    private static class ServiceSeries {
+        private final String environment;
+        private final String name;
+        private final String category;
+        private final byte[] labels;
+        private final byte[][] resultLabels = new byte[RESULTS.length][];
+        private final byte[][] reasonLabels = new byte[REASONS.length][];
+        private final AtomicLongArray probes = new AtomicLongArray(RESULTS.length);
+        private final AtomicLongArray errors = new AtomicLongArray(REASONS.length);
+        private final Histogram duration;
+        private volatile int up = -1; // -1 até a primeira verificação
+        private volatile long lastProbeMillis;
+        
+        ServiceSeries(String environment, String name, String category) {
+            this.environment = environment;
+            this.name = name;
+            this.category = category;
+            this.labels = ExpositionWriter.labels("environment", environment, "service", name, "category", category);
+            for (int i = 0; i < RESULTS.length; i++) {
+                resultLabels[i] = ExpositionWriter.labels(
+                    "environment", environment, "service", name, "category", category, "result", RESULTS[i]);
+            }
+            for (int i = 0; i < REASONS.length; i++) {
+                reasonLabels[i] = ExpositionWriter.labels(
+                    "environment", environment, "service", name, "category", category, "reason", REASONS[i]);
+            }
+            this.duration = new Histogram(BOUNDS, "environment", environment, "service", name, "category", category);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthHistoryRepository;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementação em memória do histórico: um buffer circular por serviço dividido em
+ * intervalos fixos de slotSeconds, com os últimos N intervalos.
+ *
+ * Cada intervalo ocupa 2 bytes (um short) e o horário não é guardado: vem da posição do
+ * intervalo. O short junta o status (2 bits), o índice do código HTTP num dicionário de até
+ * 16 códigos do próprio serviço (4 bits) e o tempo de resposta quantizado (10 bits: exato até
+ * 127 ms, depois 64 faixas por potência de 2, erro abaixo de 1%, até ~35 min).
+ * Várias verificações no mesmo intervalo ficam com a mais grave (na mesma gravidade, a mais
+ * recente); intervalos sem verificação ficam vazios e não aparecem nas consultas.
+ */
+public class RingBufferHealthHistoryRepository implements HealthHistoryRepository {
+    private static final short EMPTY = (short) 0xFFFF;
+    private static final int EXACT_LATENCY = 128;
+    private static final int MAX_LATENCY_CODE = 1022; // 1023 com status 3 e índice 15 seria EMPTY
+    
+    private final int capacity;
+    private final long slotMillis;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+    private volatile Set<String> serviceNames;
+    
+    public RingBufferHealthHistoryRepository(int capacity, int slotSeconds) {
+        this.capacity = capacity;
+        this.slotMillis = Math.max(slotSeconds, 1) * 1000L;
+    }
+    
+    @Override
+    public void record(HealthCheckResult result) {
+        append(
+            result.getServiceName(),
+            result.getTimestamp(),
+            result.getResponseTime(),
+            result.getStatusCode(),
+            HealthHistory.statusOf(result.getStatus())
+        );
+    }
+    
+    /**
+     * Grava uma amostra já decomposta (usado também para restaurar o histórico persistido)
+     */
+    public void append(String serviceName, long epochMillis, long responseTime, int statusCode, byte status) {
+        Set<String> names = serviceNames;
+        if (names != null && !names.contains(serviceName)) {
+            return;
+        }
+        rings.computeIfAbsent(serviceName, name -> new Ring(capacity))
+            .add(Math.floorDiv(epochMillis, slotMillis), responseTime, statusCode, status);
+    }
+    
+    /**
+     * Início (epoch millis) do intervalo mais antigo mantido em memória para o serviço quando
+     * amostras mais antigas já foram descartadas; Long.MIN_VALUE se nada foi descartado
+     */
+    public long getDiscardedBefore(String serviceName) {
+        Ring ring = rings.get(serviceName);
+        if (ring == null) {
+            return Long.MIN_VALUE;
+        }
+        long oldestSlot = ring.oldestSlot();
+        return oldestSlot == Long.MIN_VALUE ? Long.MIN_VALUE : oldestSlot * slotMillis;
+    }
+    
+    @Override
+    public HealthHistory query(String serviceName, long sinceMillis) {
+        Ring ring = rings.get(serviceName);
+        if (ring == null) {
+            return null;
+        }
+        long sinceSlot = Math.floorDiv(sinceMillis + slotMillis - 1, slotMillis);
+        return ring.since(serviceName, sinceSlot, slotMillis);
+    }
+    
+    /**
+     * Agrupa verificações avulsas (como as lidas do log em disco, em qualquer ordem) nos mesmos
+     * intervalos da memória, a partir do intervalo de sinceMillis: a mais grave de cada intervalo
+     * (na mesma gravidade, a mais recente), com o tempo de resposta quantizado e o horário de
+     * início do intervalo
+     */
+    HealthHistory toSlots(HealthHistory probes, long sinceMillis) {
+        long sinceSlot = Math.floorDiv(sinceMillis + slotMillis - 1, slotMillis);
+        Integer[] order = new Integer[probes.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(probes::getTimestamp));
+        
+        long[] timestamps = new long[order.length];
+        int[] times = new int[order.length];
+        int[] statusCodes = new int[order.length];
+        byte[] statuses = new byte[order.length];
+        int count = 0;
+        for (int i : order) {
+            long slotStart = Math.floorDiv(probes.getTimestamp(i), slotMillis) * slotMillis;
+            byte status = probes.getStatus(i);
+            if (slotStart < sinceSlot * slotMillis) {
+                continue;
+            }
+            if (count > 0 && timestamps[count - 1] == slotStart) {
+                if (severity(statuses[count - 1]) > severity(status)) {
+                    continue;
+                }
+                count--;
+            }
+            timestamps[count] = slotStart;
+            times[count] = decodeLatency(encodeLatency(probes.getResponseTime(i)));
+            statusCodes[count] = probes.getStatusCode(i);
+            statuses[count] = status;
+            count++;
+        }
+        return new HealthHistory(probes.getServiceName(), Arrays.copyOf(timestamps, count),
+            Arrays.copyOf(times, count), Arrays.copyOf(statusCodes, count), Arrays.copyOf(statuses, count));
+    }
+    
+    @Override
+    public void retain(List<Service> services) {
+        Set<String> names = new HashSet<>();
+        for (Service service : services) {
+            names.add(service.getName());
+        }
+        serviceNames = names;
+        rings.keySet().retainAll(names);
+    }
+    
+    /**
+     * Tempo de resposta em 10 bits: exato até 127 ms; acima, expoente e os 6 bits seguintes ao 1 mais alto
+     */
+    static int encodeLatency(long responseTime) {
+        if (responseTime < EXACT_LATENCY) {
+            return (int) Math.max(responseTime, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(responseTime);
+        int mantissa = (int) (responseTime >>> (exponent - 6)) & 0x3F;
+        return (int) Math.min(EXACT_LATENCY + (exponent - 7) * 64L + mantissa, MAX_LATENCY_CODE);
+    }
+    
+    /**
+     * Meio da faixa do código
+     */
+    static int decodeLatency(int code) {
+        if (code < EXACT_LATENCY) {
+            return code;
+        }
+        int exponent = (code - EXACT_LATENCY) / 64 + 7;
+        int mantissa = (code - EXACT_LATENCY) % 64;
+        long low = (64L + mantissa) << (exponent - 6);
+        return (int) (low + (1L << (exponent - 6)) / 2);
+    }
+    
+    /**
+     * Ordem de gravidade para escolher a amostra que fica num intervalo com várias verificações
+     */
+    private static int severity(int status) {
+        switch (status) {
+            case HealthHistory.STATUS_ERROR: return 3;
+            case HealthHistory.STATUS_UNHEALTHY: return 2;
+            case HealthHistory.STATUS_UNKNOWN: return 1;
+            default: return 0;
+        }
+    }
+    
+    private static class Ring {
+        private final short[] slots;
+        private final int[] codes = new int[16]; // dicionário de códigos HTTP do serviço
+        private int codeCount;
+        private long lastSlot = Long.MIN_VALUE;
+        private long firstSlot = Long.MIN_VALUE; // primeiro intervalo gravado desde a criação
+        
+        Ring(int capacity) {
+            this.slots = new short[capacity];
+            Arrays.fill(slots, EMPTY);
+        }
+        
+        synchronized void add(long slot, long responseTime, int statusCode, byte status) {
+            if (lastSlot == Long.MIN_VALUE) {
+                firstSlot = slot;
+                lastSlot = slot;
+            } else if (slot > lastSlot) {
+                // Limpa os intervalos pulados (no máximo uma volta inteira)
+                long from = Math.max(lastSlot + 1, slot - slots.length + 1);
+                for (long s = from; s < slot; s++) {
+                    slots[index(s)] = EMPTY;
+                }
+                slots[index(slot)] = EMPTY;
+                lastSlot = slot;
+            } else if (slot <= lastSlot - slots.length) {
+                return; // mais antiga que tudo o que está em memória
+            } else if (slot < firstSlot) {
+                firstSlot = slot;
+            }
+            
+            int index = index(slot);
+            short current = slots[index];
+            if (current != EMPTY && severity((current >> 14) & 0x3) > severity(status)) {
+                return;
+            }
+            slots[index] = (short) ((status & 0x3) << 14 | codeIndex(statusCode) << 10 | encodeLatency(responseTime));
+        }
+        
+        /**
+         * Primeiro intervalo em memória, ou Long.MIN_VALUE se nenhum intervalo gravado saiu do buffer
+         */
+        synchronized long oldestSlot() {
+            long oldest = lastSlot - slots.length + 1;
+            return lastSlot == Long.MIN_VALUE || firstSlot >= oldest ? Long.MIN_VALUE : oldest;
+        }
+        
+        /**
+         * Copia, em ordem cronológica, os intervalos preenchidos a partir de sinceSlot
+         */
+        synchronized HealthHistory since(String serviceName, long sinceSlot, long slotMillis) {
+            long from = Math.max(sinceSlot, Math.max(lastSlot - slots.length + 1, firstSlot));
+            int count = 0;
+            for (long s = from; s <= lastSlot; s++) {
+                if (slots[index(s)] != EMPTY) {
+                    count++;
+                }
+            }
+            
+            long[] timestamps = new long[count];
+            int[] times = new int[count];
+            int[] statusCodes = new int[count];
+            byte[] statuses = new byte[count];
+            int i = 0;
+            for (long s = from; s <= lastSlot; s++) {
+                short packed = slots[index(s)];
+                if (packed == EMPTY) {
+                    continue;
+                }
+                timestamps[i] = s * slotMillis;
+                times[i] = decodeLatency(packed & 0x3FF);
+                statusCodes[i] = codes[(packed >> 10) & 0xF];
+                statuses[i] = (byte) ((packed >> 14) & 0x3);
+                i++;
+            }
+            return new HealthHistory(serviceName, timestamps, times, statusCodes, statuses);
+        }
+        
+        /**
+         * Posição do código no dicionário; com o dicionário cheio, usa um código da mesma
+         * centena (ou o primeiro registrado)
+         */
+        private int codeIndex(int statusCode) {
+            for (int i = 0; i < codeCount; i++) {
+                if (codes[i] == statusCode) {
+                    return i;
+                }
+            }
+            if (codeCount < codes.length) {
+                codes[codeCount] = statusCode;
+                return codeCount++;
+            }
+            for (int i = 0; i < codeCount; i++) {
+                if (codes[i] / 100 == statusCode / 100) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+        
+        private int index(long slot) {
+            return (int) Math.floorMod(slot, (long) slots.length);
+        }
+    }
+}
@@ -1,17 +1,67 @@
 package br.com.healthcheck.domain.entity;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Entidade de domínio representando um componente de health check
+ * Entidade de domínio representando um componente de health check.
+ *
+ * Imutável. Os serviços costumam repetir os mesmos componentes (db, diskSpace, ping...) a
+ * cada verificação: of() e canonical() devolvem instâncias e listas compartilhadas, para que
+ * o snapshot não guarde uma cópia por resultado.
  */
-public class Component {
-    private String name;
-    private String status; // UP, DOWN, UNKNOWN
+public final class Component {
+    // Limite das tabelas de instâncias compartilhadas; acima dele os valores não são guardados
+    private static final int MAX_CANONICAL = 10_000;
+    private static final Map<Component, Component> COMPONENTS = new ConcurrentHashMap<>();
+    private static final Map<List<Component>, List<Component>> LISTS = new ConcurrentHashMap<>();
+    
+    private final String name;
+    private final String status; // UP, DOWN, UNKNOWN
     
     public Component(String name, String status) {
         this.name = name;
         this.status = status;
     }
     
+    /**
+     * Componente com nome e status compartilhados com as verificações anteriores
+     */
+    public static Component of(String name, String status) {
+        Component component = new Component(name, status);
+        Component existing = COMPONENTS.get(component);
+        if (existing != null) {
+            return existing;
+        }
+        if (COMPONENTS.size() >= MAX_CANONICAL) {
+            return component;
+        }
+        component = new Component(name.intern(), status.intern());
+        existing = COMPONENTS.putIfAbsent(component, component);
+        return existing != null ? existing : component;
+    }
+    
+    /**
+     * Lista imutável com os mesmos componentes, compartilhada entre resultados iguais
+     */
+    public static List<Component> canonical(List<Component> components) {
+        if (components == null || components.isEmpty()) {
+            return List.of();
+        }
+        List<Component> existing = LISTS.get(components);
+        if (existing != null) {
+            return existing;
+        }
+        List<Component> copy = List.copyOf(components);
+        if (LISTS.size() >= MAX_CANONICAL) {
+            return copy;
+        }
+        existing = LISTS.putIfAbsent(copy, copy);
+        return existing != null ? existing : copy;
+    }
+    
     public String getName() {
         return name;
     }
@@ -19,5 +69,17 @@ public class Component {
     public String getStatus() {
         return status;
     }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Component)) return false;
+        Component other = (Component) o;
+        return Objects.equals(name, other.name) && Objects.equals(status, other.status);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, status);
+    }
 }
-
@@ -0,0 +1,43 @@
+package br.com.healthcheck.domain.entity;
+
+import java.util.List;
+
+/**
+ * Serviços que mudaram de estado depois de uma versão do snapshot.
+ * Quando a versão já saiu do log de mudanças, resync indica que é preciso buscar o snapshot completo.
+ */
+public class HealthChanges {
+    private final long version;
+    private final boolean resync;
+    private final List<Change> changes;
+    
+    public HealthChanges(long version, boolean resync, List<Change> changes) {
+        this.version = version;
+        this.resync = resync;
+        this.changes = changes;
+    }
+    
+    /**
+     * Versão atual do snapshot; é o since da próxima consulta
+     */
+    public long getVersion() { return version; }
+    public boolean isResync() { return resync; }
+    public List<Change> getChanges() { return changes; }
+    
+    /**
+     * Último estado de um serviço que mudou; result é null se o serviço saiu da configuração
+     */
+    public static class Change {
+        private final String serviceName;
+        private final HealthCheckResult result;
+        
+        public Change(String serviceName, HealthCheckResult result) {
+            this.serviceName = serviceName;
+            this.result = result;
+        }
+        
+        public String getServiceName() { return serviceName; }
+        public HealthCheckResult getResult() { return result; }
+        public boolean isRemoved() { return result == null; }
+    }
+}
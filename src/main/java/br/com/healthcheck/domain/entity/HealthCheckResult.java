@@ -1,46 +1,160 @@
 package br.com.healthcheck.domain.entity;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 /**
- * Entidade de domínio representando o resultado de um health check
+ * Entidade de domínio representando o resultado de um health check.
+ *
+ * Imutável: o mesmo objeto é compartilhado pelo snapshot, pelo stream e pelas respostas
+ * em andamento. Nomes e categoria são internados e a lista de componentes é a canônica
+ * (Component.canonical), então resultados repetidos não duplicam strings nem listas.
  */
-public class HealthCheckResult {
-    private String serviceName;
-    private String serviceUrl;
-    private String category;
-    private String status; // healthy, unhealthy, error
-    private int statusCode;
-    private long responseTime;
-    private LocalDateTime timestamp;
-    private String message;
-    private String rootStatus; // Status raiz do JSON (UP, DOWN, etc.)
-    private List<Component> components;
-    
-    public HealthCheckResult(String serviceName, String serviceUrl, String category) {
+public final class HealthCheckResult {
+    // Motivos de erro (errorType) quando status = ERROR
+    public static final String ERROR_TIMEOUT = "timeout";
+    public static final String ERROR_CONNECTION = "connection";
+    public static final String ERROR_REJECTED = "rejected";
+    public static final String ERROR_CIRCUIT_OPEN = "circuit_open";
+    
+    private final String serviceName;
+    private final String serviceUrl;
+    private final String category;
+    private final HealthStatus status;
+    private final int statusCode;
+    private final long responseTimeNanos;
+    private final long timestamp; // epoch millis
+    private final String message;
+    private final String errorType;          // timeout, connection, rejected, circuit_open (só quando status = ERROR)
+    private final String rootStatus;         // Status raiz do JSON (UP, DOWN, etc.)
+    private final HealthStatus lastStatus;   // Último status conhecido (só quando status = PENDING)
+    private final List<Component> components;
+    
+    private HealthCheckResult(String serviceName, String serviceUrl, String category,
+                              HealthStatus status, int statusCode, long responseTimeNanos, long timestamp,
+                              String message, String errorType, String rootStatus,
+                              HealthStatus lastStatus, List<Component> components) {
         this.serviceName = serviceName;
         this.serviceUrl = serviceUrl;
-        this.category = category != null ? category : "Geral";
-        this.timestamp = LocalDateTime.now();
+        this.category = category;
+        this.status = status;
+        this.statusCode = statusCode;
+        this.responseTimeNanos = responseTimeNanos;
+        this.timestamp = timestamp;
+        this.message = message;
+        this.errorType = errorType;
+        this.rootStatus = rootStatus;
+        this.lastStatus = lastStatus;
+        this.components = components;
+    }
+    
+    /**
+     * Resultado de um serviço que respondeu (saudável ou não), medido com System.nanoTime
+     */
+    public static HealthCheckResult checked(Service service, HealthStatus status, int statusCode,
+                                            long responseTimeNanos, String message,
+                                            String rootStatus, List<Component> components) {
+        return new HealthCheckResult(
+            intern(service.getName()), service.getUrl(), category(service),
+            status, statusCode, responseTimeNanos, System.currentTimeMillis(),
+            message, null, rootStatus != null ? rootStatus.intern() : null,
+            null, Component.canonical(components)
+        );
+    }
+    
+    /**
+     * Verificação que falhou sem resposta HTTP (timeout, conexão, rejeitada, circuito aberto)
+     */
+    public static HealthCheckResult error(Service service, long responseTimeNanos, String message, String errorType) {
+        return new HealthCheckResult(
+            intern(service.getName()), service.getUrl(), category(service),
+            HealthStatus.ERROR, 0, responseTimeNanos, System.currentTimeMillis(),
+            message, errorType, null, null, List.of()
+        );
     }
     
-    // Getters e Setters
+    /**
+     * Serviço ainda sem nenhum resultado aguardando a primeira verificação
+     */
+    public static HealthCheckResult pending(Service service, String message) {
+        return new HealthCheckResult(
+            intern(service.getName()), service.getUrl(), category(service),
+            HealthStatus.PENDING, 0, 0, System.currentTimeMillis(),
+            message, null, null, null, List.of()
+        );
+    }
+    
+    // Getters
     public String getServiceName() { return serviceName; }
     public String getServiceUrl() { return serviceUrl; }
     public String getCategory() { return category; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public HealthStatus getStatus() { return status; }
     public int getStatusCode() { return statusCode; }
-    public void setStatusCode(int statusCode) { this.statusCode = statusCode; }
-    public long getResponseTime() { return responseTime; }
-    public void setResponseTime(long responseTime) { this.responseTime = responseTime; }
-    public LocalDateTime getTimestamp() { return timestamp; }
+    public long getResponseTime() { return responseTimeNanos / 1_000_000L; } // ms
+    public long getResponseTimeNanos() { return responseTimeNanos; }
+    public long getTimestamp() { return timestamp; }
     public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
+    public String getErrorType() { return errorType; }
     public String getRootStatus() { return rootStatus; }
-    public void setRootStatus(String rootStatus) { this.rootStatus = rootStatus; }
+    public HealthStatus getLastStatus() { return lastStatus; }
     public List<Component> getComponents() { return components; }
-    public void setComponents(List<Component> components) { this.components = components; }
+    
+    /**
+     * Este resultado para outro serviço com a mesma URL (verificação compartilhada)
+     */
+    public HealthCheckResult copyFor(Service service) {
+        return new HealthCheckResult(
+            intern(service.getName()), service.getUrl(), category(service),
+            status, statusCode, responseTimeNanos, timestamp,
+            message, errorType, rootStatus, lastStatus, components
+        );
+    }
+    
+    /**
+     * Este resultado como pendente para o serviço: mantém os dados da última verificação
+     * e guarda o status dela em lastStatus
+     */
+    public HealthCheckResult asPendingFor(Service service) {
+        return new HealthCheckResult(
+            intern(service.getName()), service.getUrl(), category(service),
+            HealthStatus.PENDING, statusCode, responseTimeNanos, timestamp,
+            message, errorType, rootStatus, status, components
+        );
+    }
+    
+    /**
+     * Indica se o outro resultado tem o mesmo estado observável (status, código, mensagem
+     * e componentes), ignorando tempo de resposta e horário da verificação
+     */
+    public boolean hasSameState(HealthCheckResult other) {
+        if (other == null) {
+            return false;
+        }
+        // Componentes iguais costumam ser a mesma lista canônica: equals termina na comparação de referência
+        return statusCode == other.statusCode
+            && status == other.status
+            && Objects.equals(message, other.message)
+            && Objects.equals(rootStatus, other.rootStatus)
+            && components.equals(other.components);
+    }
+    
+    /**
+     * Indica se o outro resultado tem o mesmo status, código HTTP e status dos componentes
+     * (o que muda a saúde do serviço; mensagem e tempos são ignorados)
+     */
+    public boolean hasSameStatus(HealthCheckResult other) {
+        return other != null
+            && status == other.status
+            && statusCode == other.statusCode
+            && Objects.equals(rootStatus, other.rootStatus)
+            && components.equals(other.components);
+    }
+    
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+    
+    private static String category(Service service) {
+        return service.getCategory() != null ? service.getCategory().intern() : "Geral";
+    }
 }
-
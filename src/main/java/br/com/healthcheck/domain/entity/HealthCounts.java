@@ -0,0 +1,60 @@
+package br.com.healthcheck.domain.entity;
+
+import java.util.List;
+
+/**
+ * Quantidade de serviços em cada status (de todo o ambiente ou de uma categoria)
+ */
+public class HealthCounts {
+    public static final HealthCounts EMPTY = new HealthCounts(0, 0, 0, 0);
+    
+    private final int healthy;
+    private final int unhealthy;
+    private final int errors;
+    private final int pending;
+    
+    public HealthCounts(int healthy, int unhealthy, int errors, int pending) {
+        this.healthy = healthy;
+        this.unhealthy = unhealthy;
+        this.errors = errors;
+        this.pending = pending;
+    }
+    
+    /**
+     * Contagem dos resultados numa única passada
+     */
+    public static HealthCounts of(List<HealthCheckResult> results) {
+        int[] counts = new int[HealthStatus.values().length];
+        for (HealthCheckResult result : results) {
+            counts[result.getStatus().ordinal()]++;
+        }
+        return of(counts);
+    }
+    
+    /**
+     * Contagem a partir de um array indexado por HealthStatus.ordinal()
+     */
+    public static HealthCounts of(int[] counts) {
+        return new HealthCounts(
+            counts[HealthStatus.HEALTHY.ordinal()],
+            counts[HealthStatus.UNHEALTHY.ordinal()],
+            counts[HealthStatus.ERROR.ordinal()],
+            counts[HealthStatus.PENDING.ordinal()]
+        );
+    }
+    
+    public int getTotal() { return healthy + unhealthy + errors + pending; }
+    public int getHealthy() { return healthy; }
+    public int getUnhealthy() { return unhealthy; }
+    public int getErrors() { return errors; }
+    public int getPending() { return pending; }
+    
+    public int get(HealthStatus status) {
+        switch (status) {
+            case HEALTHY: return healthy;
+            case UNHEALTHY: return unhealthy;
+            case ERROR: return errors;
+            default: return pending;
+        }
+    }
+}
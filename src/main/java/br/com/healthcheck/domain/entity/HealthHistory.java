@@ -0,0 +1,50 @@
+package br.com.healthcheck.domain.entity;
+
+/**
+ * Histórico de verificações de um serviço em ordem cronológica.
+ * Guardado em colunas de tipos primitivos (uma posição por amostra), sem um objeto por verificação.
+ */
+public class HealthHistory {
+    public static final byte STATUS_HEALTHY = 0;
+    public static final byte STATUS_UNHEALTHY = 1;
+    public static final byte STATUS_ERROR = 2;
+    public static final byte STATUS_UNKNOWN = 3;
+    
+    private final String serviceName;
+    private final long[] timestamps; // epoch millis
+    private final int[] responseTimes;
+    private final int[] statusCodes;
+    private final byte[] statuses;
+    
+    public HealthHistory(String serviceName, long[] timestamps, int[] responseTimes,
+                         int[] statusCodes, byte[] statuses) {
+        this.serviceName = serviceName;
+        this.timestamps = timestamps;
+        this.responseTimes = responseTimes;
+        this.statusCodes = statusCodes;
+        this.statuses = statuses;
+    }
+    
+    public String getServiceName() { return serviceName; }
+    public int size() { return timestamps.length; }
+    public long getTimestamp(int i) { return timestamps[i]; }
+    public int getResponseTime(int i) { return responseTimes[i]; }
+    public int getStatusCode(int i) { return statusCodes[i]; }
+    public byte getStatus(int i) { return statuses[i]; }
+    
+    public static byte statusOf(HealthStatus status) {
+        if (status == HealthStatus.HEALTHY) return STATUS_HEALTHY;
+        if (status == HealthStatus.UNHEALTHY) return STATUS_UNHEALTHY;
+        if (status == HealthStatus.ERROR) return STATUS_ERROR;
+        return STATUS_UNKNOWN;
+    }
+    
+    public static String statusName(byte status) {
+        switch (status) {
+            case STATUS_HEALTHY: return "healthy";
+            case STATUS_UNHEALTHY: return "unhealthy";
+            case STATUS_ERROR: return "error";
+            default: return "unknown";
+        }
+    }
+}
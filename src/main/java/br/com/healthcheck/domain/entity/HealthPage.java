@@ -0,0 +1,19 @@
+package br.com.healthcheck.domain.entity;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma HealthQuery
+ */
+public class HealthPage {
+    private final List<HealthCheckResult> results;
+    private final String nextCursor; // null na última página
+    
+    public HealthPage(List<HealthCheckResult> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<HealthCheckResult> getResults() { return results; }
+    public String getNextCursor() { return nextCursor; }
+}
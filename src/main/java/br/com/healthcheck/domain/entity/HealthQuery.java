@@ -0,0 +1,54 @@
+package br.com.healthcheck.domain.entity;
+
+import java.util.Set;
+
+/**
+ * Consulta ao snapshot: filtros (status, categoria, prefixo do nome, tempo de resposta
+ * mínimo), ordenação e página (cursor da página anterior e limite de itens)
+ */
+public class HealthQuery {
+    
+    public enum Sort {
+        CONFIG,        // ordem da configuração
+        NAME,          // nome do serviço
+        LATENCY,       // tempo de resposta da última verificação, do menor para o maior
+        LATENCY_DESC   // tempo de resposta da última verificação, do maior para o menor
+    }
+    
+    private final Set<HealthStatus> statuses; // vazio = todos
+    private final Set<String> categories;     // vazio = todas
+    private final String namePrefix;          // null = todos
+    private final long minLatencyMs;          // < 0 = sem limite
+    private final Sort sort;
+    private final String cursor;              // null = primeira página
+    private final int limit;                  // 0 = sem limite
+    
+    public HealthQuery(Set<HealthStatus> statuses, Set<String> categories, String namePrefix,
+                       long minLatencyMs, Sort sort, String cursor, int limit) {
+        this.statuses = Set.copyOf(statuses);
+        this.categories = Set.copyOf(categories);
+        this.namePrefix = namePrefix != null && !namePrefix.isEmpty() ? namePrefix : null;
+        this.minLatencyMs = minLatencyMs;
+        this.sort = sort != null ? sort : Sort.CONFIG;
+        this.cursor = cursor != null && !cursor.isEmpty() ? cursor : null;
+        this.limit = Math.max(limit, 0);
+    }
+    
+    public Set<HealthStatus> getStatuses() { return statuses; }
+    public Set<String> getCategories() { return categories; }
+    public String getNamePrefix() { return namePrefix; }
+    public long getMinLatencyMs() { return minLatencyMs; }
+    public Sort getSort() { return sort; }
+    public String getCursor() { return cursor; }
+    public int getLimit() { return limit; }
+    
+    /**
+     * Indica se o resultado passa em todos os filtros (a ordenação e a página ficam com o repositório)
+     */
+    public boolean matches(HealthCheckResult result) {
+        return (statuses.isEmpty() || statuses.contains(result.getStatus()))
+            && (categories.isEmpty() || categories.contains(result.getCategory()))
+            && (namePrefix == null || result.getServiceName().startsWith(namePrefix))
+            && (minLatencyMs < 0 || result.getResponseTime() >= minLatencyMs);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.healthcheck.domain.entity;
+
+/**
+ * Status de um health check; getValue() é o nome usado no JSON e nas métricas
+ */
+public enum HealthStatus {
+    HEALTHY("healthy"),
+    UNHEALTHY("unhealthy"),
+    ERROR("error"),
+    PENDING("pending"); // sem resultado dentro do prazo da rodada
+    
+    private final String value;
+    
+    HealthStatus(String value) {
+        this.value = value;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    /**
+     * Status pelo nome usado no JSON (sem diferenciar maiúsculas); null se desconhecido
+     */
+    public static HealthStatus fromValue(String value) {
+        for (HealthStatus status : values()) {
+            if (status.value.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.healthcheck.domain.entity;
+
+/**
+ * Estado do circuit breaker de um host (scheme + host + porta)
+ */
+public class HostCircuit {
+    public static final String CLOSED = "closed";
+    public static final String OPEN = "open";
+    public static final String HALF_OPEN = "half_open";
+    
+    private final String host;
+    private final String state;
+    private final int consecutiveFailures;
+    private final long openedAt;      // epoch ms; 0 se fechado
+    private final long nextAttemptAt; // epoch ms da próxima verificação de teste; 0 se fechado
+    private final long shortCircuited;
+    
+    public HostCircuit(String host, String state, int consecutiveFailures,
+                       long openedAt, long nextAttemptAt, long shortCircuited) {
+        this.host = host;
+        this.state = state;
+        this.consecutiveFailures = consecutiveFailures;
+        this.openedAt = openedAt;
+        this.nextAttemptAt = nextAttemptAt;
+        this.shortCircuited = shortCircuited;
+    }
+    
+    public String getHost() { return host; }
+    public String getState() { return state; }
+    public int getConsecutiveFailures() { return consecutiveFailures; }
+    public long getOpenedAt() { return openedAt; }
+    public long getNextAttemptAt() { return nextAttemptAt; }
+    
+    /**
+     * Verificações respondidas sem acessar o host desde que o processo iniciou
+     */
+    public long getShortCircuited() { return shortCircuited; }
+}
@@ -0,0 +1,26 @@
+package br.com.healthcheck.domain.entity;
+
+/**
+ * Percentis de tempo de resposta numa janela de tempo (valores em nanossegundos)
+ */
+public class LatencySummary {
+    private final long count;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+    
+    public LatencySummary(long count, long p50, long p90, long p99, long max) {
+        this.count = count;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+    
+    public long getCount() { return count; }
+    public long getP50() { return p50; }
+    public long getP90() { return p90; }
+    public long getP99() { return p99; }
+    public long getMax() { return max; }
+}
@@ -1,5 +1,7 @@
 package br.com.healthcheck.domain.entity;
 
+import java.util.Objects;
+
 /**
  * Entidade de domínio representando um serviço a ser monitorado
  */
@@ -8,6 +10,10 @@ public class Service {
     private String url;
     private String category;
     private int expectedStatus;
+    private int maxBodyBytes; // 0 = usa o limite padrão do servidor
+    private int minInterval;  // 0 = usa o padrão do servidor
+    private int maxInterval;  // 0 = usa o padrão do servidor
+    private int timeout;      // 0 = usa o timeout da configuração
     
     public Service(String name, String url, String category, int expectedStatus) {
         this.name = name;
@@ -16,6 +22,42 @@ public class Service {
         this.expectedStatus = expectedStatus > 0 ? expectedStatus : 200;
     }
     
+    /**
+     * Cópia com outro limite de bytes do corpo (0 = padrão do servidor)
+     */
+    public Service withMaxBodyBytes(int maxBodyBytes) {
+        Service copy = copy();
+        copy.maxBodyBytes = Math.max(maxBodyBytes, 0);
+        return copy;
+    }
+    
+    /**
+     * Cópia com outro intervalo mínimo entre verificações em ms (0 = padrão do servidor)
+     */
+    public Service withMinInterval(int minInterval) {
+        Service copy = copy();
+        copy.minInterval = Math.max(minInterval, 0);
+        return copy;
+    }
+    
+    /**
+     * Cópia com outro intervalo máximo entre verificações em ms (0 = padrão do servidor)
+     */
+    public Service withMaxInterval(int maxInterval) {
+        Service copy = copy();
+        copy.maxInterval = Math.max(maxInterval, 0);
+        return copy;
+    }
+    
+    /**
+     * Cópia com outro timeout de verificação em ms (0 = timeout da configuração)
+     */
+    public Service withTimeout(int timeout) {
+        Service copy = copy();
+        copy.timeout = Math.max(timeout, 0);
+        return copy;
+    }
+    
     public String getName() {
         return name;
     }
@@ -31,5 +73,61 @@ public class Service {
     public int getExpectedStatus() {
         return expectedStatus;
     }
+    
+    /**
+     * Limite de bytes lidos do corpo da resposta; 0 quando não definido para o serviço
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+    
+    /**
+     * Menor intervalo entre verificações (ms), usado logo após uma mudança de estado; 0 quando não definido
+     */
+    public int getMinInterval() {
+        return minInterval;
+    }
+    
+    /**
+     * Maior intervalo entre verificações (ms) quando o serviço está estável; 0 quando não definido
+     */
+    public int getMaxInterval() {
+        return maxInterval;
+    }
+    
+    /**
+     * Timeout (ms) das verificações deste serviço; 0 quando não definido
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+    
+    private Service copy() {
+        Service copy = new Service(name, url, category, expectedStatus);
+        copy.maxBodyBytes = maxBodyBytes;
+        copy.minInterval = minInterval;
+        copy.maxInterval = maxInterval;
+        copy.timeout = timeout;
+        return copy;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Service)) return false;
+        Service other = (Service) o;
+        return expectedStatus == other.expectedStatus
+            && maxBodyBytes == other.maxBodyBytes
+            && minInterval == other.minInterval
+            && maxInterval == other.maxInterval
+            && timeout == other.timeout
+            && Objects.equals(name, other.name)
+            && Objects.equals(url, other.url)
+            && Objects.equals(category, other.category);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, url, category, expectedStatus, maxBodyBytes, minInterval, maxInterval, timeout);
+    }
 }
-
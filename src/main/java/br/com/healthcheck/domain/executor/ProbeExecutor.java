@@ -0,0 +1,23 @@
+package br.com.healthcheck.domain.executor;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.Service;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Interface do mecanismo de execução das verificações (Domain Layer)
+ */
+public interface ProbeExecutor {
+    CompletableFuture<HealthCheckResult> submit(Service service, Callable<HealthCheckResult> probe);
+    
+    /**
+     * Verificação não bloqueante: a vaga (global e do host) fica ocupada até o future completar,
+     * sem reservar uma thread durante a espera
+     */
+    CompletableFuture<HealthCheckResult> submitAsync(Service service, 
+                                                     Supplier<CompletableFuture<HealthCheckResult>> probe);
+    int getQueueDepth();
+    int getActiveProbes();
+}
@@ -2,11 +2,23 @@ package br.com.healthcheck.domain.repository;
 
 import br.com.healthcheck.domain.entity.HealthCheckResult;
 import br.com.healthcheck.domain.entity.Service;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface do repositório de health check (Domain Layer)
  */
 public interface HealthCheckRepository {
     HealthCheckResult checkHealth(Service service, int timeout);
+    
+    /**
+     * Indica se checkHealthAsync é realmente não bloqueante.
+     * Implementações bloqueantes são executadas em threads do ProbeExecutor.
+     */
+    default boolean isAsync() {
+        return false;
+    }
+    
+    default CompletableFuture<HealthCheckResult> checkHealthAsync(Service service, int timeout) {
+        return CompletableFuture.completedFuture(checkHealth(service, timeout));
+    }
 }
-
@@ -0,0 +1,20 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.entity.Service;
+import java.util.List;
+
+/**
+ * Interface do repositório com as últimas verificações de cada serviço (Domain Layer)
+ */
+public interface HealthHistoryRepository {
+    void record(HealthCheckResult result);
+    
+    /**
+     * Amostras do serviço com horário a partir de sinceMillis (epoch), ou null se o serviço não tiver histórico
+     */
+    HealthHistory query(String serviceName, long sinceMillis);
+    
+    void retain(List<Service> services);
+}
@@ -0,0 +1,20 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+
+/**
+ * Observador de mudanças no snapshot de resultados (Domain Layer).
+ * Chamado na thread que gravou o resultado: implementações não devem bloquear.
+ */
+public interface HealthSnapshotListener {
+    
+    /**
+     * Um serviço passou a ter um estado diferente do último resultado gravado
+     */
+    void onResultChanged(HealthCheckResult result);
+    
+    /**
+     * O conjunto de serviços monitorados mudou (inclusões ou remoções na configuração)
+     */
+    void onServicesChanged();
+}
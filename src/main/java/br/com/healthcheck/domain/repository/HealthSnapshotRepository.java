@@ -0,0 +1,63 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HealthChanges;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthCounts;
+import br.com.healthcheck.domain.entity.HealthPage;
+import br.com.healthcheck.domain.entity.HealthQuery;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface do repositório com o último resultado conhecido de cada serviço (Domain Layer)
+ */
+public interface HealthSnapshotRepository {
+    void save(HealthCheckResult result);
+    HealthCheckResult get(String serviceName);
+    List<HealthCheckResult> getAll();
+    void retain(List<Service> services);
+    void addListener(HealthSnapshotListener listener);
+    
+    /**
+     * Versão do snapshot: cresce quando um resultado muda algo visível no JSON do serviço
+     * (status, código, mensagem, componentes, tipo de erro, URL ou categoria) ou quando o conjunto
+     * de serviços muda; novas verificações que só trazem outro tempo de resposta não a alteram
+     */
+    long getVersion();
+    
+    /**
+     * Serviços por status, mantido a cada resultado gravado (sem percorrer o snapshot)
+     */
+    HealthCounts getCounts();
+    
+    /**
+     * Contagem por status de cada categoria, na ordem da configuração
+     */
+    Map<String, HealthCounts> getCategoryCounts();
+    
+    /**
+     * Resultados com o status informado, na ordem da configuração
+     */
+    List<HealthCheckResult> getByStatus(HealthStatus status);
+    
+    /**
+     * Resultados da categoria, na ordem da configuração
+     */
+    List<HealthCheckResult> getByCategory(String category);
+    
+    /**
+     * Resultados que passam nos filtros, na ordem e na página pedidas. A leitura parte do índice
+     * mais seletivo (status, categoria, nome ou tempo de resposta), sem percorrer o snapshot.
+     *
+     * @throws IllegalArgumentException se o cursor não é válido para a ordenação pedida
+     */
+    HealthPage find(HealthQuery query);
+    
+    /**
+     * Serviços cujo status, código HTTP ou status dos componentes mudou depois da versão since
+     * (e os que saíram da configuração); resync quando essa versão já não está no log
+     */
+    HealthChanges getChangesSince(long since);
+}
@@ -0,0 +1,11 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HostCircuit;
+import java.util.List;
+
+/**
+ * Interface de consulta ao estado dos circuit breakers por host (Domain Layer)
+ */
+public interface HostCircuitRepository {
+    List<HostCircuit> getCircuits();
+}
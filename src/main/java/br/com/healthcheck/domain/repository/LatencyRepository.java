@@ -0,0 +1,28 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.LatencySummary;
+import br.com.healthcheck.domain.entity.Service;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface do repositório de distribuição de latência por serviço e por categoria (Domain Layer)
+ */
+public interface LatencyRepository {
+    void record(HealthCheckResult result);
+    
+    /**
+     * Percentis de cada serviço nos últimos windowMinutes; serviços sem verificações na janela ficam de fora
+     */
+    Map<String, LatencySummary> getServiceLatencies(int windowMinutes);
+    
+    Map<String, LatencySummary> getCategoryLatencies(int windowMinutes);
+    
+    /**
+     * Maior janela suportada, em minutos
+     */
+    int getMaxWindowMinutes();
+    
+    void retain(List<Service> services);
+}
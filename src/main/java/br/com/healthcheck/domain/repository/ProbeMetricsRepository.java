@@ -0,0 +1,22 @@
+package br.com.healthcheck.domain.repository;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.Service;
+import java.util.List;
+
+/**
+ * Interface do repositório de métricas das verificações para monitoramento externo (Domain Layer)
+ */
+public interface ProbeMetricsRepository {
+    void record(HealthCheckResult result);
+    
+    /**
+     * Verificação recusada pelo executor (fila cheia ou encerramento), sem resultado do serviço
+     */
+    void recordRejected(String serviceName);
+    
+    /**
+     * Registra as séries dos serviços configurados e descarta as dos que não existem mais
+     */
+    void retain(List<Service> services);
+}
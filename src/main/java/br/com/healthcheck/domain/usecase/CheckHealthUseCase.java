@@ -1,79 +1,288 @@
 package br.com.healthcheck.domain.usecase;
 
 import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthCounts;
 import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.executor.ProbeExecutor;
 import br.com.healthcheck.domain.repository.ConfigRepository;
 import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import br.com.healthcheck.domain.repository.HealthHistoryRepository;
+import br.com.healthcheck.domain.repository.HealthSnapshotRepository;
+import br.com.healthcheck.domain.repository.LatencyRepository;
+import br.com.healthcheck.domain.repository.ProbeMetricsRepository;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Caso de uso: Verificar saúde de todos os serviços
+ *
+ * Rodadas pedidas ao mesmo tempo são uma só: quem chega com uma rodada em andamento (ou
+ * concluída há menos de roundFreshnessMs) recebe o mesmo resultado. Serviços com a mesma URL
+ * e os mesmos critérios compartilham a verificação em andamento em vez de repeti-la.
+ *
+ * A rodada responde em até roundDeadlineMs: serviços ainda em verificação saem como "pending",
+ * com o último status conhecido, e o resultado deles vai para o snapshot quando chegar.
  */
 public class CheckHealthUseCase {
     private final HealthCheckRepository healthCheckRepository;
     private final ConfigRepository configRepository;
+    private final HealthSnapshotRepository snapshotRepository;
+    private final HealthHistoryRepository historyRepository;
+    private final LatencyRepository latencyRepository;
+    private final ProbeMetricsRepository metricsRepository;
+    private final ProbeExecutor probeExecutor;
+    private final long roundFreshnessMs;
+    private final long roundDeadlineMs;
+    private final Map<String, InFlightProbe> inFlightProbes = new ConcurrentHashMap<>();
+    private final Object roundLock = new Object();
+    private volatile List<Service> retainedServices; // última lista aplicada aos repositórios
+    private CompletableFuture<HealthCheckSummary> currentRound;
+    private long currentRoundCompletedAt;
     
     public CheckHealthUseCase(HealthCheckRepository healthCheckRepository, 
-                             ConfigRepository configRepository) {
+                             ConfigRepository configRepository,
+                             HealthSnapshotRepository snapshotRepository,
+                             HealthHistoryRepository historyRepository,
+                             LatencyRepository latencyRepository,
+                             ProbeMetricsRepository metricsRepository,
+                             ProbeExecutor probeExecutor,
+                             long roundFreshnessMs,
+                             long roundDeadlineMs) {
         this.healthCheckRepository = healthCheckRepository;
         this.configRepository = configRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.historyRepository = historyRepository;
+        this.latencyRepository = latencyRepository;
+        this.metricsRepository = metricsRepository;
+        this.probeExecutor = probeExecutor;
+        this.roundFreshnessMs = roundFreshnessMs;
+        this.roundDeadlineMs = roundDeadlineMs;
     }
     
+    /**
+     * Executa uma rodada síncrona com todos os serviços e atualiza o snapshot
+     */
     public HealthCheckSummary execute() {
-        List<Service> services = configRepository.getServices();
-        int timeout = configRepository.getTimeout();
-        
-        ExecutorService executor = Executors.newCachedThreadPool();
-        List<Future<HealthCheckResult>> futures = new ArrayList<>();
-        
-        for (Service service : services) {
-            futures.add(executor.submit(() -> 
-                healthCheckRepository.checkHealth(service, timeout)
-            ));
+        return executeAsync().join();
+    }
+    
+    /**
+     * Rodada com todos os serviços; reaproveita a rodada em andamento ou a recém-concluída
+     */
+    public CompletableFuture<HealthCheckSummary> executeAsync() {
+        CompletableFuture<HealthCheckSummary> round;
+        synchronized (roundLock) {
+            if (currentRound != null && (!currentRound.isDone()
+                    || (!currentRound.isCompletedExceptionally()
+                        && System.currentTimeMillis() - currentRoundCompletedAt < roundFreshnessMs))) {
+                return currentRound;
+            }
+            round = new CompletableFuture<>();
+            currentRound = round;
         }
         
-        List<HealthCheckResult> results = new ArrayList<>();
-        for (Future<HealthCheckResult> future : futures) {
-            try {
-                results.add(future.get());
-            } catch (Exception e) {
-                e.printStackTrace();
+        try {
+            List<Service> services = loadServices();
+            int timeout = configRepository.getTimeout();
+            
+            List<CompletableFuture<HealthCheckResult>> futures = new ArrayList<>();
+            for (Service service : services) {
+                futures.add(checkService(service, timeout));
             }
+            
+            // A rodada termina quando todos respondem ou quando o prazo vence, o que vier antes
+            CompletableFuture<Object> deadline = new CompletableFuture<>();
+            CompletableFuture.delayedExecutor(roundDeadlineMs, TimeUnit.MILLISECONDS)
+                .execute(() -> deadline.complete(null));
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])), deadline)
+                .whenComplete((ignored, error) -> {
+                    List<HealthCheckResult> results = new ArrayList<>(futures.size());
+                    for (int i = 0; i < futures.size(); i++) {
+                        CompletableFuture<HealthCheckResult> future = futures.get(i);
+                        results.add(future.isDone() && !future.isCompletedExceptionally()
+                            ? future.join()
+                            : pendingResult(services.get(i)));
+                    }
+                    synchronized (roundLock) {
+                        currentRoundCompletedAt = System.currentTimeMillis();
+                    }
+                    round.complete(new HealthCheckSummary(results));
+                });
+        } catch (RuntimeException e) {
+            round.completeExceptionally(e);
         }
+        return round;
+    }
+    
+    /**
+     * Agenda a verificação de um único serviço no executor compartilhado
+     * e grava o resultado no snapshot, no histórico e nas métricas quando terminar.
+     * Se outro serviço com a mesma URL já está sendo verificado, aproveita aquela verificação.
+     *
+     * Uma verificação recusada pelo executor (fila cheia ou encerramento) não diz nada sobre o
+     * serviço: conta só na métrica de recusas e devolve o último estado conhecido como "pending",
+     * sem gravar no snapshot nem no histórico.
+     */
+    public CompletableFuture<HealthCheckResult> checkService(Service service, int defaultTimeout) {
+        int timeout = service.getTimeout() > 0 ? service.getTimeout() : defaultTimeout;
+        String key = probeKey(service, timeout);
+        InFlightProbe mine = new InFlightProbe(service.getName());
+        InFlightProbe shared = inFlightProbes.putIfAbsent(key, mine);
         
-        executor.shutdown();
+        CompletableFuture<HealthCheckResult> probe;
+        if (shared != null && shared.serviceName.equals(service.getName())) {
+            // O próprio serviço já está sendo verificado (ex.: agendador e rodada ao mesmo tempo);
+            // quem iniciou a verificação grava o resultado (e conta a recusa, se houver)
+            return shared.result.exceptionally(e -> isRejection(e) ? pendingResult(service) : failedResult(service, e));
+        } else if (shared != null) {
+            probe = shared.result.thenApply(result -> result.copyFor(service));
+        } else {
+            probe(service, timeout).whenComplete((result, error) -> {
+                inFlightProbes.remove(key, mine);
+                if (error != null) {
+                    mine.result.completeExceptionally(error);
+                } else {
+                    mine.result.complete(result);
+                }
+            });
+            probe = mine.result;
+        }
+        return probe.handle((probed, error) -> {
+            if (error != null && isRejection(error)) {
+                metricsRepository.recordRejected(service.getName());
+                return pendingResult(service);
+            }
+            HealthCheckResult result = error != null ? failedResult(service, error) : probed;
+            snapshotRepository.save(result);
+            historyRepository.record(result);
+            latencyRepository.record(result);
+            metricsRepository.record(result);
+            return result;
+        });
+    }
+    
+    private CompletableFuture<HealthCheckResult> probe(Service service, int timeout) {
+        return healthCheckRepository.isAsync()
+            ? probeExecutor.submitAsync(service, () -> healthCheckRepository.checkHealthAsync(service, timeout))
+            : probeExecutor.submit(service, () -> healthCheckRepository.checkHealth(service, timeout));
+    }
+    
+    /**
+     * Verificações com a mesma chave dão o mesmo resultado: mesma URL, status esperado,
+     * limite de corpo e timeout
+     */
+    private static String probeKey(Service service, int timeout) {
+        return service.getUrl() + '\n' + service.getExpectedStatus() + '\n' + service.getMaxBodyBytes() + '\n' + timeout;
+    }
+    
+    /**
+     * Serviço que não respondeu dentro do prazo da rodada, com o último estado conhecido
+     */
+    private HealthCheckResult pendingResult(Service service) {
+        HealthCheckResult last = snapshotRepository.get(service.getName());
+        return last != null
+            ? last.asPendingFor(service)
+            : HealthCheckResult.pending(service, "Verificação em andamento");
+    }
+    
+    private static boolean isRejection(Throwable e) {
+        return unwrap(e) instanceof RejectedExecutionException;
+    }
+    
+    /**
+     * Verificação que terminou com exceção em vez de resultado (não deveria acontecer:
+     * os repositórios transformam as falhas em resultados de erro)
+     */
+    private static HealthCheckResult failedResult(Service service, Throwable e) {
+        Throwable cause = unwrap(e);
+        return HealthCheckResult.error(service, 0,
+            cause.getMessage() != null ? cause.getMessage() : "Verificação não executada", null);
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+    
+    /**
+     * Lê os serviços configurados e descarta do snapshot, do histórico e das métricas os que não existem mais.
+     * Com a mesma lista da última chamada (o caso comum a cada rodada), não refaz nada.
+     */
+    public List<Service> loadServices() {
+        List<Service> services = configRepository.getServices();
+        if (services.equals(retainedServices)) {
+            return services;
+        }
+        snapshotRepository.retain(services);
+        historyRepository.retain(services);
+        latencyRepository.retain(services);
+        metricsRepository.retain(services);
+        retainedServices = services;
+        return services;
+    }
+    
+    /**
+     * Verificação em andamento e o serviço que a iniciou
+     */
+    private static class InFlightProbe {
+        private final String serviceName;
+        private final CompletableFuture<HealthCheckResult> result = new CompletableFuture<>();
         
-        return new HealthCheckSummary(results);
+        InFlightProbe(String serviceName) {
+            this.serviceName = serviceName;
+        }
     }
     
+    /**
+     * Resultados de uma rodada (ou do snapshot) com a contagem por status
+     */
     public static class HealthCheckSummary {
         private final List<HealthCheckResult> results;
+        private final HealthCounts counts;
         
         public HealthCheckSummary(List<HealthCheckResult> results) {
+            this(results, HealthCounts.of(results));
+        }
+        
+        /**
+         * Resultados com a contagem já mantida pelo snapshot, sem percorrê-los de novo
+         */
+        public HealthCheckSummary(List<HealthCheckResult> results, HealthCounts counts) {
             this.results = results;
+            this.counts = counts;
         }
         
         public List<HealthCheckResult> getResults() {
             return results;
         }
         
+        public HealthCounts getCounts() {
+            return counts;
+        }
+        
         public int getTotal() {
-            return results.size();
+            return counts.getTotal();
         }
         
         public int getHealthy() {
-            return (int) results.stream().filter(r -> "healthy".equals(r.getStatus())).count();
+            return counts.getHealthy();
         }
         
         public int getUnhealthy() {
-            return (int) results.stream().filter(r -> "unhealthy".equals(r.getStatus())).count();
+            return counts.getUnhealthy();
         }
         
         public int getErrors() {
-            return (int) results.stream().filter(r -> "error".equals(r.getStatus())).count();
+            return counts.getErrors();
+        }
+        
+        public int getPending() {
+            return counts.getPending();
         }
     }
 }
-
@@ -0,0 +1,22 @@
+package br.com.healthcheck.domain.usecase;
+
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.repository.HealthHistoryRepository;
+
+/**
+ * Caso de uso: Obter o histórico recente de verificações de um serviço
+ */
+public class GetHealthHistoryUseCase {
+    private final HealthHistoryRepository historyRepository;
+    
+    public GetHealthHistoryUseCase(HealthHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+    
+    /**
+     * Amostras da janela informada (em milissegundos, até agora), ou null se o serviço não tiver histórico
+     */
+    public HealthHistory execute(String serviceName, long windowMillis) {
+        return historyRepository.query(serviceName, System.currentTimeMillis() - windowMillis);
+    }
+}
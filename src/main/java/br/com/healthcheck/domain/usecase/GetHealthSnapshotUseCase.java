@@ -0,0 +1,83 @@
+package br.com.healthcheck.domain.usecase;
+
+import br.com.healthcheck.domain.entity.HealthChanges;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthCounts;
+import br.com.healthcheck.domain.entity.HealthPage;
+import br.com.healthcheck.domain.entity.HealthQuery;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.repository.HealthSnapshotListener;
+import br.com.healthcheck.domain.repository.HealthSnapshotRepository;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caso de uso: Obter o último resultado conhecido de cada serviço, sem I/O externo
+ */
+public class GetHealthSnapshotUseCase {
+    private final HealthSnapshotRepository snapshotRepository;
+    
+    public GetHealthSnapshotUseCase(HealthSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = snapshotRepository;
+    }
+    
+    public CheckHealthUseCase.HealthCheckSummary execute() {
+        return new CheckHealthUseCase.HealthCheckSummary(snapshotRepository.getAll(), snapshotRepository.getCounts());
+    }
+    
+    /**
+     * Contagem por status mantida pelo snapshot, sem copiar os resultados
+     */
+    public HealthCounts getCounts() {
+        return snapshotRepository.getCounts();
+    }
+    
+    /**
+     * Contagem por status de cada categoria
+     */
+    public Map<String, HealthCounts> getCategoryCounts() {
+        return snapshotRepository.getCategoryCounts();
+    }
+    
+    /**
+     * Apenas os serviços com o status informado
+     */
+    public List<HealthCheckResult> getByStatus(HealthStatus status) {
+        return snapshotRepository.getByStatus(status);
+    }
+    
+    /**
+     * Apenas os serviços da categoria informada
+     */
+    public List<HealthCheckResult> getByCategory(String category) {
+        return snapshotRepository.getByCategory(category);
+    }
+    
+    /**
+     * Página de serviços filtrados e ordenados a partir dos índices do snapshot
+     */
+    public HealthPage find(HealthQuery query) {
+        return snapshotRepository.find(query);
+    }
+    
+    /**
+     * Apenas os serviços que mudaram de estado depois da versão since
+     */
+    public HealthChanges getChangesSince(long since) {
+        return snapshotRepository.getChangesSince(since);
+    }
+    
+    /**
+     * Versão atual do snapshot, para detectar mudanças sem copiar os resultados
+     */
+    public long getVersion() {
+        return snapshotRepository.getVersion();
+    }
+    
+    /**
+     * Registra um observador das mudanças de estado do snapshot
+     */
+    public void subscribe(HealthSnapshotListener listener) {
+        snapshotRepository.addListener(listener);
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.healthcheck.domain.usecase;
+
+import br.com.healthcheck.domain.entity.LatencySummary;
+import br.com.healthcheck.domain.repository.LatencyRepository;
+import java.util.Map;
+
+/**
+ * Caso de uso: Obter os percentis de latência por serviço e por categoria
+ */
+public class GetLatencyUseCase {
+    public static final int DEFAULT_WINDOW_MINUTES = 5;
+    
+    private final LatencyRepository latencyRepository;
+    
+    public GetLatencyUseCase(LatencyRepository latencyRepository) {
+        this.latencyRepository = latencyRepository;
+    }
+    
+    /**
+     * Percentis dos últimos windowMinutes (limitado à maior janela suportada)
+     */
+    public LatencyReport execute(int windowMinutes) {
+        int window = Math.min(Math.max(windowMinutes, 1), latencyRepository.getMaxWindowMinutes());
+        return new LatencyReport(
+            window,
+            latencyRepository.getServiceLatencies(window),
+            latencyRepository.getCategoryLatencies(window)
+        );
+    }
+    
+    public int getMaxWindowMinutes() {
+        return latencyRepository.getMaxWindowMinutes();
+    }
+    
+    public static class LatencyReport {
+        private final int windowMinutes;
+        private final Map<String, LatencySummary> services;
+        private final Map<String, LatencySummary> categories;
+        
+        public LatencyReport(int windowMinutes,
+                             Map<String, LatencySummary> services,
+                             Map<String, LatencySummary> categories) {
+            this.windowMinutes = windowMinutes;
+            this.services = services;
+            this.categories = categories;
+        }
+        
+        public int getWindowMinutes() {
+            return windowMinutes;
+        }
+        
+        public Map<String, LatencySummary> getServices() {
+            return services;
+        }
+        
+        public Map<String, LatencySummary> getCategories() {
+            return categories;
+        }
+        
+        public LatencySummary getService(String serviceName) {
+            return services.get(serviceName);
+        }
+        
+        public LatencySummary getCategory(String category) {
+            return categories.get(category);
+        }
+    }
+}
@@ -1,28 +1,108 @@
 package br.com.healthcheck.infrastructure.config;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
- * Gerenciador de ambiente (homolog/prod)
+ * Gerenciador de ambientes (homolog, prod, ...)
+ *
+ * Cada ambiente corresponde a um arquivo config-<ambiente>.json e é monitorado ao mesmo
+ * tempo que os demais. A lista vem de healthcheck.environments (ex.: homolog,prod,dr) ou,
+ * sem ela, dos arquivos config-*.json do diretório atual. O ambiente padrão só é usado
+ * quando a requisição não informa ?env=.
  */
 public class EnvironmentManager {
-    private static volatile String currentEnvironment = "homolog";
-    private static final String CONFIG_HOMOLOG = "config-homolog.json";
-    private static final String CONFIG_PROD = "config-prod.json";
+    private static final String CONFIG_PREFIX = "config-";
+    private static final String CONFIG_SUFFIX = ".json";
+    private static final String DEFAULT_ENVIRONMENT = "homolog";
+    
+    private static final List<String> ENVIRONMENTS = discover();
+    private static volatile String currentEnvironment = initialEnvironment();
     
+    /**
+     * Altera o ambiente padrão; ignora ambientes desconhecidos
+     */
     public static synchronized void setEnvironment(String env) {
-        if ("prod".equals(env) || "homolog".equals(env)) {
+        if (isAvailable(env)) {
             currentEnvironment = env;
         }
     }
     
-    public static synchronized String getEnvironment() {
+    /**
+     * Ambiente padrão, usado pelas requisições sem ?env=
+     */
+    public static String getEnvironment() {
         return currentEnvironment;
     }
     
-    public static String getConfigFile() {
-        if ("prod".equals(currentEnvironment)) {
-            return CONFIG_PROD;
+    public static List<String> getEnvironments() {
+        return ENVIRONMENTS;
+    }
+    
+    public static boolean isAvailable(String env) {
+        return env != null && ENVIRONMENTS.contains(env);
+    }
+    
+    public static String getConfigFile(String env) {
+        return CONFIG_PREFIX + env + CONFIG_SUFFIX;
+    }
+    
+    private static List<String> discover() {
+        List<String> environments = new ArrayList<>();
+        String configured = ServerSettings.getEnvironments();
+        if (configured != null && !configured.isEmpty()) {
+            for (String env : configured.split(",")) {
+                if (isValidName(env.trim()) && !environments.contains(env.trim())) {
+                    environments.add(env.trim());
+                }
+            }
+        } else {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get("."), CONFIG_PREFIX + "*" + CONFIG_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String env = name.substring(CONFIG_PREFIX.length(), name.length() - CONFIG_SUFFIX.length());
+                    if (isValidName(env)) {
+                        environments.add(env);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao procurar arquivos de configuração: " + e.getMessage());
+            }
+            // homolog e prod primeiro, como no seletor do dashboard; os demais em ordem alfabética
+            environments.sort((a, b) -> {
+                int rankA = rank(a);
+                int rankB = rank(b);
+                return rankA != rankB ? Integer.compare(rankA, rankB) : a.compareTo(b);
+            });
+        }
+        if (environments.isEmpty()) {
+            environments.add(DEFAULT_ENVIRONMENT);
         }
-        return CONFIG_HOMOLOG;
+        return Collections.unmodifiableList(environments);
+    }
+    
+    private static String initialEnvironment() {
+        String configured = ServerSettings.getDefaultEnvironment();
+        if (isAvailable(configured)) {
+            return configured;
+        }
+        return ENVIRONMENTS.contains(DEFAULT_ENVIRONMENT) ? DEFAULT_ENVIRONMENT : ENVIRONMENTS.get(0);
+    }
+    
+    private static int rank(String env) {
+        return "homolog".equals(env) ? 0 : "prod".equals(env) ? 1 : 2;
+    }
+    
+    /**
+     * Nomes usados em URLs e caminhos de arquivo: letras minúsculas, dígitos, - e _
+     */
+    private static boolean isValidName(String env) {
+        return !env.isEmpty() && env.matches("[a-z0-9_-]+");
     }
 }
-
@@ -0,0 +1,209 @@
+package br.com.healthcheck.infrastructure.config;
+
+/**
+ * Configurações de inicialização do servidor.
+ * Lidas de propriedades do sistema (-Dhealthcheck.probe.maxConcurrency=64)
+ * ou da variável de ambiente equivalente (HEALTHCHECK_PROBE_MAXCONCURRENCY=64)
+ */
+public class ServerSettings {
+    
+    private ServerSettings() {
+    }
+    
+    /**
+     * Modo de threads do servidor e das verificações: "platform" ou "virtual" (Java 21+)
+     */
+    public static String getThreadMode() {
+        String value = get("healthcheck.threads");
+        return value != null && !value.isEmpty() ? value.toLowerCase() : "platform";
+    }
+    
+    /**
+     * Cliente HTTP das verificações: "httpclient" (java.net.http, assíncrono) ou "urlconnection"
+     */
+    public static String getHttpClient() {
+        String value = get("healthcheck.http.client");
+        return value != null && !value.isEmpty() ? value.toLowerCase() : "httpclient";
+    }
+    
+    public static int getProbeMaxConcurrency() {
+        // Com virtual threads cada verificação bloqueada custa poucos KB, então o padrão é maior
+        return getInt("healthcheck.probe.maxConcurrency", "virtual".equals(getThreadMode()) ? 1024 : 64);
+    }
+    
+    public static int getProbeMaxPerHost() {
+        return getInt("healthcheck.probe.maxPerHost", 8);
+    }
+    
+    public static int getProbeMaxQueue() {
+        return getInt("healthcheck.probe.maxQueue", 10000);
+    }
+    
+    /**
+     * Limite padrão de bytes lidos do corpo de cada verificação (sobrescrito por maxBodyBytes do serviço)
+     */
+    public static int getProbeMaxBodyBytes() {
+        return getInt("healthcheck.probe.maxBodyBytes", 256 * 1024);
+    }
+    
+    /**
+     * Rodadas completas (/api/health?fresh=true) concluídas há menos que isso são reaproveitadas
+     */
+    public static int getRoundFreshnessMs() {
+        String value = get("healthcheck.round.freshMs");
+        return "0".equals(value) ? 0 : getInt("healthcheck.round.freshMs", 1000);
+    }
+    
+    /**
+     * Prazo de uma rodada completa; serviços que não responderem a tempo saem como "pending"
+     */
+    public static int getRoundDeadlineMs() {
+        return getInt("healthcheck.round.deadlineMs", 3000);
+    }
+    
+    /**
+     * Falhas seguidas de conexão ou timeout num host até abrir o circuito; 0 desliga o circuit breaker
+     */
+    public static int getCircuitFailureThreshold() {
+        String value = get("healthcheck.circuit.failureThreshold");
+        return "0".equals(value) ? 0 : getInt("healthcheck.circuit.failureThreshold", 5);
+    }
+    
+    /**
+     * Tempo com o circuito aberto antes da primeira verificação de teste; dobra a cada teste que falha
+     */
+    public static int getCircuitOpenMs() {
+        return getInt("healthcheck.circuit.openMs", 10000);
+    }
+    
+    public static int getCircuitMaxOpenMs() {
+        return getInt("healthcheck.circuit.maxOpenMs", 300000);
+    }
+    
+    /**
+     * Ajusta o intervalo de cada serviço à estabilidade dele; false usa sempre o refreshInterval
+     */
+    public static boolean isScheduleAdaptive() {
+        String value = get("healthcheck.schedule.adaptive");
+        return value == null || value.isEmpty() || Boolean.parseBoolean(value);
+    }
+    
+    /**
+     * Intervalo padrão logo após uma mudança de estado (sobrescrito por minInterval do serviço)
+     */
+    public static int getScheduleMinIntervalMs() {
+        return getInt("healthcheck.schedule.minIntervalMs", 5000);
+    }
+    
+    /**
+     * Teto padrão do intervalo de um serviço estável (sobrescrito por maxInterval do serviço)
+     */
+    public static int getScheduleMaxIntervalMs() {
+        return getInt("healthcheck.schedule.maxIntervalMs", 300000);
+    }
+    
+    /**
+     * Idade máxima do JSON de /api/health já serializado quando nenhum serviço mudou de estado
+     * (tempos de resposta e percentis são atualizados nesse intervalo); 0 só refaz quando a versão muda
+     */
+    public static int getSnapshotMaxAgeMs() {
+        String value = get("healthcheck.snapshot.maxAgeMs");
+        return "0".equals(value) ? 0 : getInt("healthcheck.snapshot.maxAgeMs", 60000);
+    }
+    
+    /**
+     * Mudanças de estado guardadas para /api/health/changes; consultas com versão mais antiga pedem resync
+     */
+    public static int getChangeLogCapacity() {
+        return getInt("healthcheck.changes.capacity", 10000);
+    }
+    
+    /**
+     * Intervalos mantidos por serviço no histórico em memória, 2 bytes cada (8640 = 24h em intervalos de 10s)
+     */
+    public static int getHistoryCapacity() {
+        return getInt("healthcheck.history.capacity", 8640);
+    }
+    
+    /**
+     * Duração de cada intervalo do histórico em memória; verificações no mesmo intervalo ficam com a mais grave
+     */
+    public static int getHistorySlotSeconds() {
+        return getInt("healthcheck.history.slotSeconds", 10);
+    }
+    
+    /**
+     * Grava o histórico num log em disco e o restaura ao iniciar
+     */
+    public static boolean isHistoryPersistent() {
+        String value = get("healthcheck.history.persist");
+        return value == null || value.isEmpty() || Boolean.parseBoolean(value);
+    }
+    
+    /**
+     * Diretório de dados (log do histórico), relativo ao diretório dos config-*.json
+     */
+    public static String getDataDir() {
+        String value = get("healthcheck.data.dir");
+        return value != null && !value.isEmpty() ? value : "data";
+    }
+    
+    public static int getHistorySegmentBytes() {
+        return getInt("healthcheck.history.segmentMb", 32) * 1024 * 1024;
+    }
+    
+    public static int getHistoryMaxSegments() {
+        return getInt("healthcheck.history.maxSegments", 8);
+    }
+    
+    public static int getHistoryFlushMs() {
+        return getInt("healthcheck.history.flushMs", 1000);
+    }
+    
+    /**
+     * Ambientes monitorados, separados por vírgula; vazio para usar os config-*.json encontrados
+     */
+    public static String getEnvironments() {
+        return get("healthcheck.environments");
+    }
+    
+    /**
+     * Ambiente usado pelas requisições sem ?env=
+     */
+    public static String getDefaultEnvironment() {
+        return get("healthcheck.environment");
+    }
+    
+    /**
+     * Respostas menores que isso vão sem compressão, mesmo que o cliente aceite gzip/deflate
+     */
+    public static int getCompressionMinBytes() {
+        return getInt("healthcheck.http.compressMinBytes", 1024);
+    }
+    
+    public static int getShutdownGraceMs() {
+        return getInt("healthcheck.shutdown.graceMs", 10000);
+    }
+    
+    private static String get(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(property.toUpperCase().replace('.', '_'));
+        }
+        return value != null ? value.trim() : null;
+    }
+    
+    private static int getInt(String property, int defaultValue) {
+        String value = get(property);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + property + ": " + value);
+            return defaultValue;
+        }
+    }
+}
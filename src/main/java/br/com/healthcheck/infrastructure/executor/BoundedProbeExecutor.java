@@ -0,0 +1,275 @@
+package br.com.healthcheck.infrastructure.executor;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.executor.ProbeExecutor;
+import br.com.healthcheck.infrastructure.util.Urls;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Executor compartilhado e de longa duração para as verificações.
+ * Limita a concorrência global e por host (scheme + host + porta); o que excede
+ * os limites espera numa fila por host, atendida em rodízio entre os hosts.
+ * As threads vêm do executor recebido (plataforma ou virtual, ver ExecutorFactory).
+ */
+public class BoundedProbeExecutor implements ProbeExecutor {
+    private final ExecutorService workers;
+    private final int maxConcurrency;
+    private final int maxPerHost;
+    private final int maxQueue;
+    
+    private final Object lock = new Object();
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+    private final ArrayDeque<HostQueue> readyHosts = new ArrayDeque<>();
+    // Verificações a iniciar pela thread que já está dentro de start (ver start)
+    private final ThreadLocal<ArrayDeque<ProbeTask>> starting = new ThreadLocal<>();
+    private volatile int active;
+    private volatile int queued;
+    private boolean shuttingDown;
+    
+    public BoundedProbeExecutor(ExecutorService workers, int maxConcurrency, int maxPerHost, int maxQueue) {
+        this.workers = workers;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPerHost = maxPerHost;
+        this.maxQueue = maxQueue;
+    }
+    
+    @Override
+    public CompletableFuture<HealthCheckResult> submit(Service service, Callable<HealthCheckResult> probe) {
+        return enqueue(service, probe, null);
+    }
+    
+    @Override
+    public CompletableFuture<HealthCheckResult> submitAsync(Service service,
+                                                            Supplier<CompletableFuture<HealthCheckResult>> probe) {
+        return enqueue(service, null, probe);
+    }
+    
+    private CompletableFuture<HealthCheckResult> enqueue(Service service,
+                                                         Callable<HealthCheckResult> probe,
+                                                         Supplier<CompletableFuture<HealthCheckResult>> asyncProbe) {
+        CompletableFuture<HealthCheckResult> future = new CompletableFuture<>();
+        List<ProbeTask> toRun;
+        
+        synchronized (lock) {
+            if (shuttingDown) {
+                future.completeExceptionally(new RejectedExecutionException("Executor de verificações encerrado"));
+                return future;
+            }
+            if (queued >= maxQueue) {
+                future.completeExceptionally(new RejectedExecutionException("Fila de verificações cheia"));
+                return future;
+            }
+            
+            String key = Urls.hostKey(service.getUrl());
+            HostQueue host = hosts.get(key);
+            if (host == null) {
+                host = new HostQueue(key);
+                hosts.put(key, host);
+            }
+            host.pending.add(new ProbeTask(host, probe, asyncProbe, future));
+            queued++;
+            markReady(host);
+            toRun = dispatch();
+        }
+        
+        start(toRun);
+        return future;
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        return queued;
+    }
+    
+    @Override
+    public int getActiveProbes() {
+        return active;
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+    
+    /**
+     * Encerramento gracioso: recusa novas verificações, aguarda as pendentes
+     * até o prazo e então interrompe o que restar
+     */
+    public void shutdown(long graceMs) {
+        long deadline = System.currentTimeMillis() + graceMs;
+        List<ProbeTask> abandoned = new ArrayList<>();
+        
+        synchronized (lock) {
+            shuttingDown = true;
+            try {
+                long remaining;
+                while ((active > 0 || queued > 0) && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    lock.wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (HostQueue host : hosts.values()) {
+                abandoned.addAll(host.pending);
+                host.pending.clear();
+            }
+            queued = 0;
+            readyHosts.clear();
+        }
+        
+        for (ProbeTask task : abandoned) {
+            task.future.completeExceptionally(new RejectedExecutionException("Executor de verificações encerrado"));
+        }
+        workers.shutdownNow();
+    }
+    
+    private void markReady(HostQueue host) {
+        if (!host.ready && !host.pending.isEmpty() && host.active < maxPerHost) {
+            host.ready = true;
+            readyHosts.add(host);
+        }
+    }
+    
+    private List<ProbeTask> dispatch() {
+        List<ProbeTask> toRun = new ArrayList<>();
+        while (active < maxConcurrency && !readyHosts.isEmpty()) {
+            HostQueue host = readyHosts.poll();
+            host.ready = false;
+            ProbeTask task = host.pending.poll();
+            if (task == null) {
+                continue;
+            }
+            queued--;
+            host.active++;
+            active++;
+            toRun.add(task);
+            // Volta para o fim da fila: hosts com muitos serviços não monopolizam o executor
+            markReady(host);
+        }
+        return toRun;
+    }
+    
+    /**
+     * Inicia as tarefas liberadas por dispatch. Uma verificação que termina na hora (ex.:
+     * circuito aberto) libera a vaga e inicia a próxima ainda dentro desta chamada; em vez de
+     * aninhar uma chamada por tarefa da fila do host (estouro de pilha com milhares delas),
+     * as tarefas liberadas durante o laço entram na fila local e o laço de fora as inicia.
+     */
+    private void start(List<ProbeTask> tasks) {
+        ArrayDeque<ProbeTask> pending = starting.get();
+        if (pending != null) {
+            pending.addAll(tasks);
+            return;
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        pending = new ArrayDeque<>(tasks);
+        starting.set(pending);
+        try {
+            ProbeTask task;
+            while ((task = pending.poll()) != null) {
+                start(task);
+            }
+        } finally {
+            starting.remove();
+        }
+    }
+    
+    private void start(ProbeTask task) {
+        if (task.asyncProbe != null) {
+            task.startAsync();
+            return;
+        }
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(e);
+            release(task.host);
+        }
+    }
+    
+    private void release(HostQueue host) {
+        List<ProbeTask> toRun;
+        synchronized (lock) {
+            active--;
+            host.active--;
+            if (host.active == 0 && host.pending.isEmpty()) {
+                hosts.remove(host.key);
+            } else {
+                markReady(host);
+            }
+            toRun = dispatch();
+            lock.notifyAll();
+        }
+        start(toRun);
+    }
+    
+    private static class HostQueue {
+        private final String key;
+        private final ArrayDeque<ProbeTask> pending = new ArrayDeque<>();
+        private int active;
+        private boolean ready;
+        
+        HostQueue(String key) {
+            this.key = key;
+        }
+    }
+    
+    private class ProbeTask implements Runnable {
+        private final HostQueue host;
+        private final Callable<HealthCheckResult> probe;
+        private final Supplier<CompletableFuture<HealthCheckResult>> asyncProbe;
+        private final CompletableFuture<HealthCheckResult> future;
+        
+        ProbeTask(HostQueue host,
+                  Callable<HealthCheckResult> probe,
+                  Supplier<CompletableFuture<HealthCheckResult>> asyncProbe,
+                  CompletableFuture<HealthCheckResult> future) {
+            this.host = host;
+            this.probe = probe;
+            this.asyncProbe = asyncProbe;
+            this.future = future;
+        }
+        
+        void startAsync() {
+            try {
+                asyncProbe.get().whenComplete((result, error) -> {
+                    release(host);
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+            } catch (Throwable t) {
+                release(host);
+                future.completeExceptionally(t);
+            }
+        }
+        
+        @Override
+        public void run() {
+            try {
+                future.complete(probe.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                release(host);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.healthcheck.infrastructure.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cria os executores do servidor e das verificações no modo de threads escolhido na inicialização.
+ * O modo "virtual" usa virtual threads (Java 21+); em JVMs anteriores volta para threads de plataforma.
+ */
+public class ExecutorFactory {
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+    
+    private final boolean virtual;
+    
+    public ExecutorFactory(String mode) {
+        this.virtual = MODE_VIRTUAL.equalsIgnoreCase(mode) && isVirtualThreadSupported();
+        if (MODE_VIRTUAL.equalsIgnoreCase(mode) && !virtual) {
+            System.err.println("⚠️  Virtual threads exigem Java 21+; usando threads de plataforma");
+        }
+    }
+    
+    public String getMode() {
+        return virtual ? MODE_VIRTUAL : MODE_PLATFORM;
+    }
+    
+    /**
+     * Executor das verificações. A concorrência é limitada pelo BoundedProbeExecutor;
+     * no modo plataforma o pool tem exatamente esse tamanho e libera threads ociosas.
+     */
+    public ExecutorService newProbeWorkers(int maxConcurrency) {
+        if (virtual) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            maxConcurrency, maxConcurrency,
+            60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            daemonThreads("health-probe-")
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+    
+    /**
+     * Executor interno do HttpClient (entrega das respostas e tarefas da conexão). No modo
+     * plataforma é um pool fixo pequeno: a leitura dos corpos não roda nele (ver
+     * HttpClientHealthCheckRepository), então ele nunca fica bloqueado esperando a rede.
+     */
+    public ExecutorService newHttpClientExecutor() {
+        if (virtual) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            daemonThreads("http-client-")
+        );
+    }
+    
+    /**
+     * Executor das requisições do HttpServer
+     */
+    public ExecutorService newServerExecutor() {
+        if (virtual) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newCachedThreadPool(daemonThreads("http-"));
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Via reflexão para continuar compilando em JDKs sem virtual threads
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads indisponíveis", e);
+        }
+    }
+}
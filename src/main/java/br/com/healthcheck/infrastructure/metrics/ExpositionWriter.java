@@ -0,0 +1,157 @@
+package br.com.healthcheck.infrastructure.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffer reaproveitável para o formato texto do Prometheus.
+ *
+ * Nomes e rótulos são codificados uma única vez, no registro das séries (encode/labels);
+ * na coleta só se copiam esses bytes e se escrevem os números dígito a dígito, sem criar
+ * objetos. O array só cresce quando a saída passa do maior tamanho já visto.
+ */
+public class ExpositionWriter {
+    private byte[] buffer = new byte[64 * 1024];
+    private final byte[] digits = new byte[20];
+    private int count;
+    
+    public void reset() {
+        count = 0;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, count);
+    }
+    
+    /**
+     * Linhas # HELP e # TYPE de uma família já codificadas (ver header)
+     */
+    public ExpositionWriter write(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+        return this;
+    }
+    
+    public ExpositionWriter write(char ascii) {
+        ensure(1);
+        buffer[count++] = (byte) ascii;
+        return this;
+    }
+    
+    /**
+     * Série completa: nome, rótulos ({...} já codificados, ou null) e valor inteiro
+     */
+    public void sample(byte[] name, byte[] labels, long value) {
+        write(name);
+        if (labels != null) {
+            write(labels);
+        }
+        write(' ').writeLong(value).write('\n');
+    }
+    
+    /**
+     * Série com valor em segundos a partir de nanossegundos (até 9 casas decimais)
+     */
+    public void sampleSeconds(byte[] name, byte[] labels, long nanos) {
+        write(name);
+        if (labels != null) {
+            write(labels);
+        }
+        write(' ').writeSeconds(nanos).write('\n');
+    }
+    
+    public ExpositionWriter writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return write(encode(Long.toString(value)));
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        ensure(digits.length - pos);
+        System.arraycopy(digits, pos, buffer, count, digits.length - pos);
+        count += digits.length - pos;
+        return this;
+    }
+    
+    public ExpositionWriter writeSeconds(long nanos) {
+        if (nanos < 0) {
+            write('-');
+            nanos = -nanos;
+        }
+        writeLong(nanos / 1_000_000_000L);
+        long fraction = nanos % 1_000_000_000L;
+        if (fraction == 0) {
+            return this;
+        }
+        write('.');
+        int width = 9;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            width--;
+        }
+        ensure(width);
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[count + i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        count += width;
+        return this;
+    }
+    
+    private void ensure(int extra) {
+        if (count + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, count + extra)];
+            System.arraycopy(buffer, 0, grown, 0, count);
+            buffer = grown;
+        }
+    }
+    
+    /**
+     * Cabeçalho de uma família: # HELP e # TYPE
+     */
+    public static byte[] header(String name, String type, String help) {
+        return encode("# HELP " + name + " " + help + "\n# TYPE " + name + " " + type + "\n");
+    }
+    
+    /**
+     * Rótulos no formato {a="x",b="y"}, com os valores escapados; pares nome/valor alternados
+     */
+    public static byte[] labels(String... namesAndValues) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(namesAndValues[i]).append("=\"");
+            String value = namesAndValues[i + 1] != null ? namesAndValues[i + 1] : "";
+            for (int c = 0; c < value.length(); c++) {
+                char ch = value.charAt(c);
+                if (ch == '\\' || ch == '"') {
+                    sb.append('\\').append(ch);
+                } else if (ch == '\n') {
+                    sb.append("\\n");
+                } else {
+                    sb.append(ch);
+                }
+            }
+            sb.append('"');
+        }
+        return encode(sb.append('}').toString());
+    }
+    
+    public static byte[] encode(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.healthcheck.infrastructure.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma do Prometheus para durações, com limites fixos em segundos.
+ * A observação é um incremento atômico; as linhas _bucket (cumulativas), _sum e _count
+ * são escritas a partir de rótulos codificados na criação da série.
+ */
+public class Histogram {
+    private final long[] boundsNanos;
+    private final byte[][] bucketLabels; // um por limite, mais o +Inf
+    private final byte[] labels;
+    private final AtomicLongArray counts;
+    private final AtomicLong sumNanos = new AtomicLong();
+    
+    /**
+     * @param boundsSeconds limites superiores em ordem crescente
+     * @param labelPairs rótulos da série, em pares nome/valor
+     */
+    public Histogram(double[] boundsSeconds, String... labelPairs) {
+        this.boundsNanos = new long[boundsSeconds.length];
+        this.bucketLabels = new byte[boundsSeconds.length + 1][];
+        this.counts = new AtomicLongArray(boundsSeconds.length + 1);
+        this.labels = ExpositionWriter.labels(labelPairs);
+        
+        String[] withLe = Arrays.copyOf(labelPairs, labelPairs.length + 2);
+        withLe[labelPairs.length] = "le";
+        for (int i = 0; i < boundsSeconds.length; i++) {
+            boundsNanos[i] = Math.round(boundsSeconds[i] * 1e9);
+            withLe[labelPairs.length + 1] = new BigDecimal(Double.toString(boundsSeconds[i]))
+                .stripTrailingZeros().toPlainString();
+            bucketLabels[i] = ExpositionWriter.labels(withLe);
+        }
+        withLe[labelPairs.length + 1] = "+Inf";
+        bucketLabels[boundsSeconds.length] = ExpositionWriter.labels(withLe);
+    }
+    
+    public void observe(long nanos) {
+        int bucket = 0;
+        while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        sumNanos.addAndGet(nanos);
+    }
+    
+    public void writeTo(ExpositionWriter out, Family family) {
+        long cumulative = 0;
+        for (int i = 0; i < bucketLabels.length; i++) {
+            cumulative += counts.get(i);
+            out.sample(family.bucket, bucketLabels[i], cumulative);
+        }
+        out.sampleSeconds(family.sum, labels, sumNanos.get());
+        out.sample(family.count, labels, cumulative);
+    }
+    
+    /**
+     * Nome e cabeçalho de uma família de histogramas
+     */
+    public static class Family {
+        private final byte[] header;
+        private final byte[] bucket;
+        private final byte[] sum;
+        private final byte[] count;
+        
+        public Family(String name, String help) {
+            this.header = ExpositionWriter.header(name, "histogram", help);
+            this.bucket = ExpositionWriter.encode(name + "_bucket");
+            this.sum = ExpositionWriter.encode(name + "_sum");
+            this.count = ExpositionWriter.encode(name + "_count");
+        }
+        
+        public byte[] getHeader() {
+            return header;
+        }
+    }
+}
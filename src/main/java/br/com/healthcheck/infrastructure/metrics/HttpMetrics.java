@@ -0,0 +1,97 @@
+package br.com.healthcheck.infrastructure.metrics;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas do próprio servidor HTTP: requisições por contexto e classe de status,
+ * latência dos handlers e requisições em andamento. Cada contexto recebe um Filter
+ * com as séries já registradas (ver filter).
+ */
+public class HttpMetrics implements MetricsSource {
+    private static final double[] BOUNDS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5};
+    private static final String[] CODE_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    
+    private static final byte[] REQUESTS_HEADER = ExpositionWriter.header(
+        "healthcheck_http_requests_total", "counter", "Requisições HTTP atendidas por contexto e classe de status");
+    private static final byte[] REQUESTS = ExpositionWriter.encode("healthcheck_http_requests_total");
+    private static final Histogram.Family DURATION = new Histogram.Family(
+        "healthcheck_http_request_duration_seconds", "Tempo de execução dos handlers HTTP");
+    private static final byte[] IN_FLIGHT_HEADER = ExpositionWriter.header(
+        "healthcheck_http_requests_in_flight", "gauge", "Requisições HTTP em andamento");
+    private static final byte[] IN_FLIGHT = ExpositionWriter.encode("healthcheck_http_requests_in_flight");
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile ContextMetrics[] contexts = new ContextMetrics[0];
+    
+    /**
+     * Filter que mede as requisições do contexto informado
+     */
+    public synchronized Filter filter(String context) {
+        ContextMetrics metrics = new ContextMetrics(context);
+        ContextMetrics[] grown = Arrays.copyOf(contexts, contexts.length + 1);
+        grown[contexts.length] = metrics;
+        contexts = grown;
+        return metrics;
+    }
+    
+    @Override
+    public void writeTo(ExpositionWriter out) {
+        ContextMetrics[] current = contexts;
+        
+        out.write(REQUESTS_HEADER);
+        for (ContextMetrics context : current) {
+            for (int i = 0; i < CODE_CLASSES.length; i++) {
+                out.sample(REQUESTS, context.codeLabels[i], context.requests.get(i));
+            }
+        }
+        
+        out.write(DURATION.getHeader());
+        for (ContextMetrics context : current) {
+            context.duration.writeTo(out, DURATION);
+        }
+        
+        out.write(IN_FLIGHT_HEADER);
+        out.sample(IN_FLIGHT, null, inFlight.get());
+    }
+    
+    private class ContextMetrics extends Filter {
+        private final String context;
+        private final byte[][] codeLabels = new byte[CODE_CLASSES.length][];
+        private final AtomicLongArray requests = new AtomicLongArray(CODE_CLASSES.length);
+        private final Histogram duration;
+        
+        ContextMetrics(String context) {
+            this.context = context;
+            for (int i = 0; i < CODE_CLASSES.length; i++) {
+                codeLabels[i] = ExpositionWriter.labels("context", context, "code", CODE_CLASSES[i]);
+            }
+            this.duration = new Histogram(BOUNDS, "context", context);
+        }
+        
+        @Override
+        public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+            long start = System.nanoTime();
+            inFlight.incrementAndGet();
+            try {
+                chain.doFilter(exchange);
+            } finally {
+                inFlight.decrementAndGet();
+                duration.observe(System.nanoTime() - start);
+                // Sem resposta enviada (ex.: exceção no handler) conta como erro do servidor
+                int code = exchange.getResponseCode();
+                int codeClass = code >= 100 && code < 600 ? code / 100 - 1 : 4;
+                requests.incrementAndGet(codeClass);
+            }
+        }
+        
+        @Override
+        public String description() {
+            return "Métricas HTTP de " + context;
+        }
+    }
+}
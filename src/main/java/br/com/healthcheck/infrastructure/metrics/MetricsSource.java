@@ -0,0 +1,9 @@
+package br.com.healthcheck.infrastructure.metrics;
+
+/**
+ * Conjunto de métricas exposto em /metrics. A escrita deve usar apenas séries já
+ * registradas, sem alocar durante a coleta.
+ */
+public interface MetricsSource {
+    void writeTo(ExpositionWriter out);
+}
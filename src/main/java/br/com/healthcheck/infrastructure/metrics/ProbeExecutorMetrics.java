@@ -0,0 +1,29 @@
+package br.com.healthcheck.infrastructure.metrics;
+
+import br.com.healthcheck.domain.executor.ProbeExecutor;
+
+/**
+ * Ocupação do executor de verificações, lida no momento da coleta
+ */
+public class ProbeExecutorMetrics implements MetricsSource {
+    private static final byte[] ACTIVE_HEADER = ExpositionWriter.header(
+        "healthcheck_probes_active", "gauge", "Verificações em execução");
+    private static final byte[] ACTIVE = ExpositionWriter.encode("healthcheck_probes_active");
+    private static final byte[] QUEUE_HEADER = ExpositionWriter.header(
+        "healthcheck_probe_queue_depth", "gauge", "Verificações aguardando vaga no executor");
+    private static final byte[] QUEUE = ExpositionWriter.encode("healthcheck_probe_queue_depth");
+    
+    private final ProbeExecutor probeExecutor;
+    
+    public ProbeExecutorMetrics(ProbeExecutor probeExecutor) {
+        this.probeExecutor = probeExecutor;
+    }
+    
+    @Override
+    public void writeTo(ExpositionWriter out) {
+        out.write(ACTIVE_HEADER);
+        out.sample(ACTIVE, null, probeExecutor.getActiveProbes());
+        out.write(QUEUE_HEADER);
+        out.sample(QUEUE, null, probeExecutor.getQueueDepth());
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.healthcheck.infrastructure.scheduler;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+
+/**
+ * Intervalo de verificação de um serviço, ajustado à estabilidade dele.
+ *
+ * Começa no refreshInterval da configuração. A cada resultado com o mesmo estado do anterior
+ * (status, código, mensagem e componentes) o intervalo dobra, até o teto: maxInterval para
+ * serviços saudáveis e o próprio refreshInterval para os que continuam com problema, para
+ * perceber a recuperação na cadência normal. Uma mudança de estado volta ao minInterval.
+ */
+class AdaptiveInterval {
+    private static final int BACKOFF_FACTOR = 2;
+    
+    private final Service service;
+    private final boolean adaptive;
+    private final long defaultMin;
+    private final long defaultMax;
+    private HealthCheckResult last;
+    private long current; // 0 = ainda sem resultado
+    
+    AdaptiveInterval(Service service, boolean adaptive, long defaultMin, long defaultMax) {
+        this.service = service;
+        this.adaptive = adaptive;
+        this.defaultMin = defaultMin;
+        this.defaultMax = defaultMax;
+    }
+    
+    /**
+     * Registra o resultado (null se a verificação falhou sem resultado) e devolve o próximo intervalo.
+     * Um resultado "pending" (ex.: verificação recusada pelo executor) não é um estado novo do serviço.
+     */
+    synchronized long next(HealthCheckResult result, long refreshInterval) {
+        if (!adaptive) {
+            return refreshInterval;
+        }
+        long min = service.getMinInterval() > 0 ? service.getMinInterval() : Math.min(defaultMin, refreshInterval);
+        long max = Math.max(service.getMaxInterval() > 0 ? service.getMaxInterval() : Math.max(defaultMax, refreshInterval), min);
+        long base = Math.max(min, Math.min(refreshInterval, max));
+        
+        if (result == null || result.getStatus() == HealthStatus.PENDING) {
+            current = current > 0 ? current : base;
+        } else if (last == null) {
+            current = base;
+        } else if (!result.hasSameState(last)) {
+            current = min;
+        } else {
+            long ceiling = result.getStatus() == HealthStatus.HEALTHY ? max : base;
+            current = Math.min(Math.max(current, min) * BACKOFF_FACTOR, Math.max(ceiling, min));
+        }
+        if (result != null && result.getStatus() != HealthStatus.PENDING) {
+            last = result;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.healthcheck.infrastructure.scheduler;
+
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.ConfigRepository;
+import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.infrastructure.config.ServerSettings;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agendador que verifica cada serviço em segundo plano, na sua própria cadência,
+ * mantendo o snapshot de resultados atualizado independentemente das requisições HTTP.
+ * A cadência se adapta ao serviço (AdaptiveInterval): estáveis são verificados cada vez
+ * menos, e os que acabaram de mudar de estado, com mais frequência.
+ * As verificações em si rodam no ProbeExecutor; as threads daqui apenas disparam.
+ */
+public class HealthCheckScheduler {
+    private static final long RECONCILE_INTERVAL_MS = 5000;
+    private static final long INITIAL_SPREAD_MS = 500;
+    
+    private final CheckHealthUseCase checkHealthUseCase;
+    private final ConfigRepository configRepository;
+    private final ScheduledExecutorService executor;
+    private final Map<String, ScheduledProbe> probes = new ConcurrentHashMap<>();
+    
+    /**
+     * @param name identifica as threads do agendador (ex.: o ambiente)
+     */
+    public HealthCheckScheduler(String name,
+                                CheckHealthUseCase checkHealthUseCase,
+                                ConfigRepository configRepository,
+                                int threads) {
+        this.checkHealthUseCase = checkHealthUseCase;
+        this.configRepository = configRepository;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "health-scheduler-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public void start() {
+        executor.scheduleWithFixedDelay(this::reconcile, 0, RECONCILE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    public void stop() {
+        for (ScheduledProbe probe : probes.values()) {
+            probe.cancel();
+        }
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Sincroniza os agendamentos com a configuração atual:
+     * agenda serviços novos ou alterados e cancela os removidos
+     */
+    private synchronized void reconcile() {
+        try {
+            List<Service> services = checkHealthUseCase.loadServices();
+            Set<String> names = new HashSet<>();
+            
+            for (Service service : services) {
+                names.add(service.getName());
+                ScheduledProbe existing = probes.get(service.getName());
+                if (existing != null && existing.service.equals(service)) {
+                    continue;
+                }
+                if (existing != null) {
+                    existing.cancel();
+                }
+                ScheduledProbe probe = new ScheduledProbe(service);
+                probes.put(service.getName(), probe);
+                probe.schedule(ThreadLocalRandom.current().nextLong(INITIAL_SPREAD_MS));
+            }
+            
+            probes.entrySet().removeIf(entry -> {
+                if (names.contains(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().cancel();
+                return true;
+            });
+        } catch (Exception e) {
+            System.err.println("Erro ao sincronizar agendamentos: " + e.getMessage());
+        }
+    }
+    
+    private static long withJitter(long interval) {
+        // Jitter de ±10% para não sincronizar todas as verificações no mesmo instante
+        long jitter = interval / 10;
+        return interval + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter) : 0);
+    }
+    
+    private class ScheduledProbe implements Runnable {
+        private final Service service;
+        private final AdaptiveInterval interval;
+        private volatile boolean cancelled;
+        
+        ScheduledProbe(Service service) {
+            this.service = service;
+            this.interval = new AdaptiveInterval(
+                service,
+                ServerSettings.isScheduleAdaptive(),
+                ServerSettings.getScheduleMinIntervalMs(),
+                ServerSettings.getScheduleMaxIntervalMs()
+            );
+        }
+        
+        void schedule(long delayMs) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                executor.schedule(this, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Agendador encerrado
+            }
+        }
+        
+        void cancel() {
+            cancelled = true;
+        }
+        
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            // A verificação roda no executor compartilhado; esta thread só agenda
+            checkHealthUseCase.checkService(service, configRepository.getTimeout())
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        System.err.println("Erro ao verificar " + service.getName() + ": " + error.getMessage());
+                    }
+                    schedule(withJitter(interval.next(result, configRepository.getRefreshInterval())));
+                });
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.healthcheck.infrastructure.server;
+
+import br.com.healthcheck.data.repository.HistogramLatencyRepository;
+import br.com.healthcheck.data.repository.InMemoryHealthSnapshotRepository;
+import br.com.healthcheck.data.repository.JsonConfigRepository;
+import br.com.healthcheck.data.repository.PersistentHealthHistoryRepository;
+import br.com.healthcheck.data.repository.RingBufferHealthHistoryRepository;
+import br.com.healthcheck.domain.executor.ProbeExecutor;
+import br.com.healthcheck.domain.repository.ConfigRepository;
+import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import br.com.healthcheck.domain.repository.HealthHistoryRepository;
+import br.com.healthcheck.domain.repository.HealthSnapshotRepository;
+import br.com.healthcheck.domain.repository.LatencyRepository;
+import br.com.healthcheck.domain.repository.ProbeMetricsRepository;
+import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.domain.usecase.GetConfigUseCase;
+import br.com.healthcheck.domain.usecase.GetHealthHistoryUseCase;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
+import br.com.healthcheck.domain.usecase.SaveConfigUseCase;
+import br.com.healthcheck.infrastructure.config.EnvironmentManager;
+import br.com.healthcheck.infrastructure.config.ServerSettings;
+import br.com.healthcheck.infrastructure.scheduler.HealthCheckScheduler;
+import br.com.healthcheck.presentation.handler.ConfigHandler;
+import br.com.healthcheck.presentation.handler.HealthChangesHandler;
+import br.com.healthcheck.presentation.handler.HealthHandler;
+import br.com.healthcheck.presentation.handler.HealthHistoryHandler;
+import br.com.healthcheck.presentation.handler.HealthSnapshotCache;
+import br.com.healthcheck.presentation.handler.HealthStreamHandler;
+import br.com.healthcheck.presentation.handler.HealthSummaryHandler;
+import br.com.healthcheck.presentation.handler.LatencyHandler;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Dependências de um ambiente monitorado: configuração, snapshot, histórico, latência,
+ * agendador e handlers próprios. O cliente HTTP, o executor das verificações e as
+ * métricas são compartilhados entre os ambientes.
+ */
+class EnvironmentContext {
+    private static final int SCHEDULER_THREADS = 2;
+    
+    private final String name;
+    private final ConfigRepository configRepository;
+    private final HealthHistoryRepository historyRepository;
+    private final HealthCheckScheduler scheduler;
+    private final HealthHandler healthHandler;
+    private final HealthStreamHandler healthStreamHandler;
+    private final HealthHistoryHandler healthHistoryHandler;
+    private final HealthSummaryHandler healthSummaryHandler;
+    private final HealthChangesHandler healthChangesHandler;
+    private final LatencyHandler latencyHandler;
+    private final ConfigHandler configHandler;
+    
+    EnvironmentContext(String name,
+                       HealthCheckRepository healthCheckRepository,
+                       ProbeExecutor probeExecutor,
+                       ProbeMetricsRepository metricsRepository,
+                       ExecutorService serverExecutor) {
+        this.name = name;
+        this.configRepository = new JsonConfigRepository(EnvironmentManager.getConfigFile(name));
+        HealthSnapshotRepository snapshotRepository = new InMemoryHealthSnapshotRepository(ServerSettings.getChangeLogCapacity());
+        this.historyRepository = createHistoryRepository();
+        LatencyRepository latencyRepository = new HistogramLatencyRepository();
+        
+        // Use Cases
+        CheckHealthUseCase checkHealthUseCase = new CheckHealthUseCase(
+            healthCheckRepository,
+            configRepository,
+            snapshotRepository,
+            historyRepository,
+            latencyRepository,
+            metricsRepository,
+            probeExecutor,
+            ServerSettings.getRoundFreshnessMs(),
+            ServerSettings.getRoundDeadlineMs()
+        );
+        GetHealthSnapshotUseCase getHealthSnapshotUseCase = new GetHealthSnapshotUseCase(snapshotRepository);
+        GetHealthHistoryUseCase getHealthHistoryUseCase = new GetHealthHistoryUseCase(historyRepository);
+        GetLatencyUseCase getLatencyUseCase = new GetLatencyUseCase(latencyRepository);
+        GetConfigUseCase getConfigUseCase = new GetConfigUseCase(configRepository);
+        SaveConfigUseCase saveConfigUseCase = new SaveConfigUseCase(configRepository);
+        
+        // Handlers HTTP
+        HealthSnapshotCache snapshotCache = new HealthSnapshotCache(getHealthSnapshotUseCase, getLatencyUseCase,
+            ServerSettings.getSnapshotMaxAgeMs());
+        this.healthHandler = new HealthHandler(checkHealthUseCase, getHealthSnapshotUseCase, getLatencyUseCase, snapshotCache);
+        this.healthStreamHandler = new HealthStreamHandler(getHealthSnapshotUseCase, snapshotCache, serverExecutor);
+        this.healthHistoryHandler = new HealthHistoryHandler(getHealthHistoryUseCase);
+        this.healthSummaryHandler = new HealthSummaryHandler(getHealthSnapshotUseCase);
+        this.healthChangesHandler = new HealthChangesHandler(getHealthSnapshotUseCase);
+        this.latencyHandler = new LatencyHandler(getLatencyUseCase);
+        this.configHandler = new ConfigHandler(name, getConfigUseCase, saveConfigUseCase);
+        
+        this.scheduler = new HealthCheckScheduler(name, checkHealthUseCase, configRepository, SCHEDULER_THREADS);
+    }
+    
+    void start() {
+        // O stream assina o snapshot antes das primeiras verificações
+        healthStreamHandler.start();
+        scheduler.start();
+    }
+    
+    void stop() {
+        scheduler.stop();
+        healthStreamHandler.stop();
+    }
+    
+    /**
+     * Fecha o log do histórico; chamar depois que as verificações pararam
+     */
+    void close() {
+        if (historyRepository instanceof PersistentHealthHistoryRepository) {
+            ((PersistentHealthHistoryRepository) historyRepository).close();
+        }
+    }
+    
+    String getName() {
+        return name;
+    }
+    
+    String getConfigFile() {
+        return EnvironmentManager.getConfigFile(name);
+    }
+    
+    HealthHandler getHealthHandler() {
+        return healthHandler;
+    }
+    
+    HealthStreamHandler getHealthStreamHandler() {
+        return healthStreamHandler;
+    }
+    
+    HealthHistoryHandler getHealthHistoryHandler() {
+        return healthHistoryHandler;
+    }
+    
+    HealthSummaryHandler getHealthSummaryHandler() {
+        return healthSummaryHandler;
+    }
+    
+    HealthChangesHandler getHealthChangesHandler() {
+        return healthChangesHandler;
+    }
+    
+    LatencyHandler getLatencyHandler() {
+        return latencyHandler;
+    }
+    
+    ConfigHandler getConfigHandler() {
+        return configHandler;
+    }
+    
+    /**
+     * Histórico em memória, com cópia em disco (um diretório por ambiente) quando habilitada;
+     * sem acesso ao diretório de dados o ambiente segue apenas com a memória
+     */
+    private HealthHistoryRepository createHistoryRepository() {
+        RingBufferHealthHistoryRepository memory = new RingBufferHealthHistoryRepository(
+            ServerSettings.getHistoryCapacity(),
+            ServerSettings.getHistorySlotSeconds()
+        );
+        if (!ServerSettings.isHistoryPersistent()) {
+            return memory;
+        }
+        
+        Path dataDir = Paths.get(ServerSettings.getDataDir(), name);
+        try {
+            PersistentHealthHistoryRepository persistent = new PersistentHealthHistoryRepository(
+                memory,
+                dataDir,
+                ServerSettings.getHistorySegmentBytes(),
+                ServerSettings.getHistoryMaxSegments(),
+                ServerSettings.getHistoryFlushMs()
+            );
+            int restored = persistent.restore(configRepository.getServices());
+            System.out.println("💾 Histórico de " + name + " em " + dataDir.toAbsolutePath()
+                + " (" + restored + " verificações restauradas)");
+            return persistent;
+        } catch (IOException e) {
+            System.err.println("Histórico de " + name + " apenas em memória, erro ao abrir " + dataDir + ": " + e.getMessage());
+            return memory;
+        }
+    }
+}
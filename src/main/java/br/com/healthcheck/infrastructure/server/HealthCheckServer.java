@@ -1,21 +1,30 @@
 package br.com.healthcheck.infrastructure.server;
 
+import br.com.healthcheck.data.repository.CircuitBreakerHealthCheckRepository;
+import br.com.healthcheck.data.repository.HttpClientHealthCheckRepository;
 import br.com.healthcheck.data.repository.HttpHealthCheckRepository;
-import br.com.healthcheck.data.repository.JsonConfigRepository;
-import br.com.healthcheck.domain.repository.ConfigRepository;
+import br.com.healthcheck.data.repository.PrometheusProbeMetricsRepository;
 import br.com.healthcheck.domain.repository.HealthCheckRepository;
-import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
-import br.com.healthcheck.domain.usecase.GetConfigUseCase;
-import br.com.healthcheck.domain.usecase.SaveConfigUseCase;
 import br.com.healthcheck.infrastructure.config.EnvironmentManager;
-import br.com.healthcheck.presentation.handler.ConfigHandler;
+import br.com.healthcheck.infrastructure.config.ServerSettings;
+import br.com.healthcheck.infrastructure.executor.BoundedProbeExecutor;
+import br.com.healthcheck.infrastructure.executor.ExecutorFactory;
+import br.com.healthcheck.infrastructure.metrics.HttpMetrics;
+import br.com.healthcheck.infrastructure.metrics.ProbeExecutorMetrics;
+import br.com.healthcheck.presentation.handler.EnvironmentDispatcher;
 import br.com.healthcheck.presentation.handler.EnvironmentHandler;
-import br.com.healthcheck.presentation.handler.HealthHandler;
+import br.com.healthcheck.presentation.handler.MetricsHandler;
+import br.com.healthcheck.presentation.handler.ProbeStatusHandler;
 import br.com.healthcheck.presentation.handler.StaticFileHandler;
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.concurrent.Executors;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 /**
  * Servidor principal da aplicação Health Check
@@ -27,39 +36,100 @@ public class HealthCheckServer {
     public static void main(String[] args) {
         try {
             // Configuração de dependências (Dependency Injection manual)
-            String configFile = EnvironmentManager.getConfigFile();
-            ConfigRepository configRepository = new JsonConfigRepository(configFile);
-            HealthCheckRepository healthCheckRepository = new HttpHealthCheckRepository();
+            ExecutorFactory executorFactory = new ExecutorFactory(ServerSettings.getThreadMode());
+            int maxConcurrency = ServerSettings.getProbeMaxConcurrency();
+            ExecutorService probeWorkers = executorFactory.newProbeWorkers(maxConcurrency);
+            // Com o HttpClient, os workers leem os corpos das respostas (a vaga da verificação já
+            // limita quantas leituras há ao mesmo tempo)
+            HealthCheckRepository httpRepository = "urlconnection".equals(ServerSettings.getHttpClient())
+                ? new HttpHealthCheckRepository(ServerSettings.getProbeMaxBodyBytes())
+                : new HttpClientHealthCheckRepository(ServerSettings.getProbeMaxBodyBytes(),
+                    executorFactory.newHttpClientExecutor(), probeWorkers);
+            // Hosts fora do ar falham na hora, sem ocupar conexões nem threads
+            CircuitBreakerHealthCheckRepository healthCheckRepository = new CircuitBreakerHealthCheckRepository(
+                httpRepository,
+                ServerSettings.getCircuitFailureThreshold() > 0 ? ServerSettings.getCircuitFailureThreshold() : Integer.MAX_VALUE,
+                ServerSettings.getCircuitOpenMs(),
+                ServerSettings.getCircuitMaxOpenMs()
+            );
+            PrometheusProbeMetricsRepository metricsRepository = new PrometheusProbeMetricsRepository();
             
-            // Use Cases
-            CheckHealthUseCase checkHealthUseCase = new CheckHealthUseCase(
-                healthCheckRepository, 
-                configRepository
+            // Executor compartilhado por todas as verificações, de todos os ambientes
+            BoundedProbeExecutor probeExecutor = new BoundedProbeExecutor(
+                probeWorkers,
+                maxConcurrency,
+                ServerSettings.getProbeMaxPerHost(),
+                ServerSettings.getProbeMaxQueue()
             );
-            GetConfigUseCase getConfigUseCase = new GetConfigUseCase(configRepository);
-            SaveConfigUseCase saveConfigUseCase = new SaveConfigUseCase(configRepository);
+            ExecutorService serverExecutor = executorFactory.newServerExecutor();
+            
+            // Um contexto (configuração, snapshot, histórico, agendador) por ambiente
+            Map<String, EnvironmentContext> environments = new LinkedHashMap<>();
+            for (String env : EnvironmentManager.getEnvironments()) {
+                environments.put(env, new EnvironmentContext(
+                    env,
+                    healthCheckRepository,
+                    probeExecutor,
+                    metricsRepository.forEnvironment(env),
+                    serverExecutor
+                ));
+            }
             
             // Handlers HTTP
-            HealthHandler healthHandler = new HealthHandler(checkHealthUseCase);
-            ConfigHandler configHandler = new ConfigHandler(getConfigUseCase, saveConfigUseCase);
             EnvironmentHandler environmentHandler = new EnvironmentHandler();
             StaticFileHandler staticFileHandler = new StaticFileHandler();
+            ProbeStatusHandler probeStatusHandler = new ProbeStatusHandler(probeExecutor, healthCheckRepository);
+            HttpMetrics httpMetrics = new HttpMetrics();
+            MetricsHandler metricsHandler = new MetricsHandler(List.of(
+                metricsRepository,
+                new ProbeExecutorMetrics(probeExecutor),
+                httpMetrics
+            ));
             
             // Criar e configurar servidor HTTP
             HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
             
-            server.createContext("/", staticFileHandler);
-            server.createContext("/index.html", staticFileHandler);
-            server.createContext("/api/health", healthHandler);
-            server.createContext("/api/config", configHandler);
-            server.createContext("/api/environment", environmentHandler);
+            route(server, httpMetrics, "/", staticFileHandler);
+            route(server, httpMetrics, "/index.html", staticFileHandler);
+            route(server, httpMetrics, "/api/health", dispatch(environments, EnvironmentContext::getHealthHandler));
+            route(server, httpMetrics, "/api/health/stream", dispatch(environments, EnvironmentContext::getHealthStreamHandler));
+            route(server, httpMetrics, "/api/health/history", dispatch(environments, EnvironmentContext::getHealthHistoryHandler));
+            route(server, httpMetrics, "/api/health/summary", dispatch(environments, EnvironmentContext::getHealthSummaryHandler));
+            route(server, httpMetrics, "/api/health/changes", dispatch(environments, EnvironmentContext::getHealthChangesHandler));
+            route(server, httpMetrics, "/api/latency", dispatch(environments, EnvironmentContext::getLatencyHandler));
+            route(server, httpMetrics, "/api/config", dispatch(environments, EnvironmentContext::getConfigHandler));
+            route(server, httpMetrics, "/api/environment", environmentHandler);
+            route(server, httpMetrics, "/api/probes", probeStatusHandler);
+            route(server, httpMetrics, "/metrics", metricsHandler);
             
-            server.setExecutor(Executors.newCachedThreadPool());
+            server.setExecutor(serverExecutor);
             server.start();
             
+            // Stream de eventos e verificações em segundo plano (que alimentam o snapshot de /api/health)
+            for (EnvironmentContext environment : environments.values()) {
+                environment.start();
+            }
+            
+            // Encerramento gracioso (SIGTERM / Ctrl+C)
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                System.out.println("🛑 Encerrando servidor...");
+                for (EnvironmentContext environment : environments.values()) {
+                    environment.stop();
+                }
+                server.stop(1);
+                probeExecutor.shutdown(ServerSettings.getShutdownGraceMs());
+                for (EnvironmentContext environment : environments.values()) {
+                    environment.close();
+                }
+            }, "shutdown"));
+            
             System.out.println("🚀 Servidor Health Check rodando em http://localhost:" + PORT);
             System.out.println("📊 Dashboard disponível em http://localhost:" + PORT);
-            System.out.println("🌍 Ambiente inicial: " + EnvironmentManager.getEnvironment());
+            for (EnvironmentContext environment : environments.values()) {
+                System.out.println("🌍 Ambiente " + environment.getName() + ": " + environment.getConfigFile());
+            }
+            System.out.println("🌍 Ambiente padrão (sem ?env=): " + EnvironmentManager.getEnvironment());
+            System.out.println("🧵 Modo de threads: " + executorFactory.getMode());
             System.out.println("📝 Pressione Ctrl+C para parar o servidor");
             
         } catch (IOException e) {
@@ -70,5 +140,21 @@ public class HealthCheckServer {
             System.exit(1);
         }
     }
+    
+    /**
+     * Registra o contexto com um filtro que mede as requisições (exposto em /metrics)
+     */
+    private static void route(HttpServer server, HttpMetrics httpMetrics, String path, HttpHandler handler) {
+        server.createContext(path, handler).getFilters().add(httpMetrics.filter(path));
+    }
+    
+    /**
+     * Handler que escolhe, pelo ?env= da requisição, o handler do ambiente correspondente
+     */
+    private static HttpHandler dispatch(Map<String, EnvironmentContext> environments,
+                                        Function<EnvironmentContext, HttpHandler> handler) {
+        Map<String, HttpHandler> handlers = new LinkedHashMap<>();
+        environments.forEach((name, environment) -> handlers.put(name, handler.apply(environment)));
+        return new EnvironmentDispatcher(handlers);
+    }
 }
-
@@ -1,108 +1,84 @@
 package br.com.healthcheck.infrastructure.util;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
- * Parser JSON simples usando apenas bibliotecas padrão do Java
+ * Parser JSON simples usando apenas bibliotecas padrão do Java.
+ * A leitura é feita em passagem única pelo JsonReader; esta classe apenas monta a árvore.
  */
 public class JsonParser {
     
+    /**
+     * Lê o próximo valor do reader como JsonObject, JsonArray, String, Number, Boolean ou null
+     */
+    public static Object readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                return readArray(reader);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return reader.nextNumber();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new IllegalArgumentException("Valor JSON inesperado: " + reader.peek());
+        }
+    }
+    
+    private static JsonObject readObject(JsonReader reader) throws IOException {
+        JsonObject obj = new JsonObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            obj.put(key, readValue(reader));
+        }
+        reader.endObject();
+        return obj;
+    }
+    
+    private static JsonArray readArray(JsonReader reader) throws IOException {
+        JsonArray arr = new JsonArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            arr.add(readValue(reader));
+        }
+        reader.endArray();
+        return arr;
+    }
+    
     public static class JsonObject {
         private Map<String, Object> map = new LinkedHashMap<>();
         
         public static JsonObject parse(String json) {
-            JsonObject obj = new JsonObject();
-            json = json.trim();
-            if (!json.startsWith("{") || !json.endsWith("}")) {
-                throw new IllegalArgumentException("Invalid JSON object");
+            try {
+                return parse(new JsonReader(json));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            json = json.substring(1, json.length() - 1).trim();
-            if (json.isEmpty()) return obj;
-            
-            parseObject(json, obj);
-            return obj;
         }
         
-        private static void parseObject(String json, JsonObject obj) {
-            int depth = 0;
-            StringBuilder key = new StringBuilder();
-            StringBuilder value = new StringBuilder();
-            boolean inKey = true;
-            boolean inString = false;
-            char stringChar = 0;
-            int valueStartDepth = -1;
-            
-            for (int i = 0; i < json.length(); i++) {
-                char c = json.charAt(i);
-                
-                if (!inString && (c == '{' || c == '[')) depth++;
-                else if (!inString && (c == '}' || c == ']')) depth--;
-                else if (!inString && c == '"' && (i == 0 || json.charAt(i-1) != '\\')) {
-                    inString = true;
-                    stringChar = '"';
-                } else if (inString && c == stringChar && json.charAt(i-1) != '\\') {
-                    inString = false;
-                }
-                
-                if (!inString && depth == 0 && c == ':') {
-                    inKey = false;
-                    valueStartDepth = depth;
-                    continue;
-                } else if (!inKey && !inString && depth == valueStartDepth && c == ',' && i < json.length() - 1) {
-                    if (key.length() > 0) {
-                        String k = key.toString().trim().replaceAll("^[\"']+|[\"']+$", "");
-                        String v = value.toString().trim();
-                        obj.put(k, parseValue(v));
-                        key.setLength(0);
-                        value.setLength(0);
-                        inKey = true;
-                        valueStartDepth = -1;
-                    }
-                } else if (inKey) {
-                    key.append(c);
-                } else if (!inKey) {
-                    value.append(c);
-                }
-            }
-            
-            if (key.length() > 0) {
-                String k = key.toString().trim().replaceAll("^[\"']+|[\"']+$", "");
-                String v = value.toString().trim();
-                obj.put(k, parseValue(v));
-            }
+        public static JsonObject parse(Reader reader) throws IOException {
+            return parse(new JsonReader(reader));
         }
         
-        private static Object parseValue(String value) {
-            value = value.trim();
-            if (value.isEmpty()) {
-                return value;
+        private static JsonObject parse(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                throw new IllegalArgumentException("Invalid JSON object");
             }
-            
-            if (value.startsWith("{") && value.endsWith("}")) {
-                return parse(value);
-            } else if (value.startsWith("[") && value.endsWith("]")) {
-                return JsonArray.parse(value);
-            } else if ((value.startsWith("\"") && value.endsWith("\"")) || 
-                     (value.startsWith("'") && value.endsWith("'"))) {
-                String unquoted = value.substring(1, value.length() - 1);
-                return unquoted.replace("\\\"", "\"").replace("\\'", "'");
-            } else if ("true".equals(value)) {
-                return true;
-            } else if ("false".equals(value)) {
-                return false;
-            } else if ("null".equals(value)) {
-                return null;
-            } else {
-                try {
-                    return Integer.parseInt(value);
-                } catch (NumberFormatException e) {
-                    try {
-                        return Double.parseDouble(value);
-                    } catch (NumberFormatException e2) {
-                        return value;
-                    }
-                }
+            JsonObject obj = readObject(reader);
+            if (reader.peek() != JsonReader.Token.END_DOCUMENT) {
+                throw new IllegalArgumentException("Invalid JSON object");
             }
+            return obj;
         }
         
         public void put(String key, Object value) {
@@ -185,44 +161,19 @@ public class JsonParser {
         private List<Object> list = new ArrayList<>();
         
         public static JsonArray parse(String json) {
-            JsonArray arr = new JsonArray();
-            json = json.trim();
-            if (!json.startsWith("[") || !json.endsWith("]")) {
-                throw new IllegalArgumentException("Invalid JSON array");
-            }
-            json = json.substring(1, json.length() - 1).trim();
-            if (json.isEmpty()) return arr;
-            
-            int depth = 0;
-            boolean inString = false;
-            StringBuilder current = new StringBuilder();
-            
-            for (int i = 0; i < json.length(); i++) {
-                char c = json.charAt(i);
-                
-                if (!inString && (c == '{' || c == '[')) depth++;
-                else if (!inString && (c == '}' || c == ']')) depth--;
-                else if (!inString && c == '"' && (i == 0 || json.charAt(i-1) != '\\')) {
-                    inString = true;
-                } else if (inString && c == '"' && json.charAt(i-1) != '\\') {
-                    inString = false;
+            JsonReader reader = new JsonReader(json);
+            try {
+                if (reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+                    throw new IllegalArgumentException("Invalid JSON array");
                 }
-                
-                if (!inString && depth == 0 && c == ',') {
-                    if (current.length() > 0) {
-                        arr.add(JsonObject.parseValue(current.toString().trim()));
-                        current.setLength(0);
-                    }
-                } else {
-                    current.append(c);
+                JsonArray arr = readArray(reader);
+                if (reader.peek() != JsonReader.Token.END_DOCUMENT) {
+                    throw new IllegalArgumentException("Invalid JSON array");
                 }
+                return arr;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            
-            if (current.length() > 0) {
-                arr.add(JsonObject.parseValue(current.toString().trim()));
-            }
-            
-            return arr;
         }
         
         public void add(Object value) {
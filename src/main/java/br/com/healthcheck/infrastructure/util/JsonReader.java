@@ -0,0 +1,486 @@
+package br.com.healthcheck.infrastructure.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizador JSON em passagem única (pull parser).
+ * Lê direto de um Reader (ou de uma String, sem cópias adicionais), um token por vez,
+ * sem montar a árvore: quem chama decide o que materializar e o que pular com skipValue().
+ * Aceita strings entre aspas simples, como o parser antigo.
+ */
+public class JsonReader implements Closeable {
+    
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+    
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+    
+    private final Reader in;
+    private char[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+    
+    private int[] stack = new int[32];
+    private int stackSize;
+    
+    private Token peeked;
+    private char quote;
+    private boolean peekedBoolean;
+    private final StringBuilder scratch = new StringBuilder();
+    
+    public JsonReader(Reader in) {
+        this.in = in;
+        this.buffer = new char[8192];
+        stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+    
+    public JsonReader(String json) {
+        this.in = null;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+        stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+    
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        
+        int scope = stack[stackSize - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace(true);
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace(true);
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("esperado ',' ou ']'");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                if (scope == NONEMPTY_OBJECT) {
+                    c = nextNonWhitespace(true);
+                    if (c == '}') {
+                        return peeked = Token.END_OBJECT;
+                    }
+                    if (c != ',') {
+                        throw syntaxError("esperado ',' ou '}'");
+                    }
+                }
+                c = nextNonWhitespace(true);
+                if (c == '}' && scope == EMPTY_OBJECT) {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (c != '"' && c != '\'') {
+                    throw syntaxError("esperado nome entre aspas");
+                }
+                stack[stackSize - 1] = DANGLING_NAME;
+                quote = (char) c;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                c = nextNonWhitespace(true);
+                if (c != ':') {
+                    throw syntaxError("esperado ':'");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                c = nextNonWhitespace(false);
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw syntaxError("conteúdo após o fim do documento");
+        }
+        
+        return peeked = peekValue();
+    }
+    
+    private Token peekValue() throws IOException {
+        int c = nextNonWhitespace(true);
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+            case '\'':
+                quote = (char) c;
+                return Token.STRING;
+            case 't':
+                expectLiteral("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                expectLiteral("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                expectLiteral("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return Token.NUMBER;
+                }
+                throw syntaxError("valor inesperado");
+        }
+    }
+    
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+    
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+    
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+    
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+    
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+    
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return readQuoted();
+    }
+    
+    /**
+     * Lê uma string; números e booleanos também são aceitos e devolvidos como texto
+     */
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            peeked = null;
+            return readQuoted();
+        }
+        if (token == Token.NUMBER) {
+            peeked = null;
+            readNumber();
+            return scratch.toString();
+        }
+        if (token == Token.BOOLEAN) {
+            peeked = null;
+            return String.valueOf(peekedBoolean);
+        }
+        throw syntaxError("esperado string mas encontrado " + token);
+    }
+    
+    /**
+     * Lê um número como Integer, Long ou Double, conforme o valor
+     */
+    public Number nextNumber() throws IOException {
+        expect(Token.NUMBER);
+        boolean integral = readNumber();
+        int length = scratch.length();
+        if (integral && length <= 18 && isPlainInteger()) {
+            long value = 0;
+            boolean negative = scratch.charAt(0) == '-';
+            for (int i = negative ? 1 : 0; i < length; i++) {
+                value = value * 10 + (scratch.charAt(i) - '0');
+            }
+            if (negative) {
+                value = -value;
+            }
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+        try {
+            return Double.parseDouble(scratch.toString());
+        } catch (NumberFormatException e) {
+            throw syntaxError("número inválido: " + scratch);
+        }
+    }
+    
+    private boolean isPlainInteger() {
+        for (int i = scratch.charAt(0) == '-' ? 1 : 0; i < scratch.length(); i++) {
+            char c = scratch.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return peekedBoolean;
+    }
+    
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+    
+    /**
+     * Pula o próximo valor (inclusive objetos e arrays aninhados) sem alocar seu conteúdo
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            Token token = peek();
+            peeked = null;
+            switch (token) {
+                case BEGIN_OBJECT:
+                    push(EMPTY_OBJECT);
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    push(EMPTY_ARRAY);
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    stackSize--;
+                    depth--;
+                    break;
+                case NAME:
+                case STRING:
+                    skipQuoted();
+                    break;
+                case NUMBER:
+                    skipNumber();
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("fim inesperado do documento");
+                default:
+                    break;
+            }
+        } while (depth > 0);
+    }
+    
+    /**
+     * Quantidade de caracteres já consumidos da entrada
+     */
+    public long getPosition() {
+        return consumed + pos;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        stackSize = 0;
+        if (in != null) {
+            in.close();
+        }
+    }
+    
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw syntaxError("esperado " + expected + " mas encontrado " + token);
+        }
+        peeked = null;
+    }
+    
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            int[] grown = new int[stack.length * 2];
+            System.arraycopy(stack, 0, grown, 0, stackSize);
+            stack = grown;
+        }
+        stack[stackSize++] = scope;
+    }
+    
+    private boolean fill() throws IOException {
+        if (in == null) {
+            return false;
+        }
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int read = in.read(buffer, 0, buffer.length);
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+    
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+    
+    private int nextNonWhitespace(boolean required) throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                if (required) {
+                    throw syntaxError("fim inesperado do documento");
+                }
+                return -1;
+            }
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+    
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw syntaxError("literal inválido");
+            }
+        }
+    }
+    
+    /**
+     * Lê o conteúdo de uma string já aberta (a aspa inicial foi consumida no peek),
+     * copiando trechos sem escape de uma vez só
+     */
+    private String readQuoted() throws IOException {
+        scratch.setLength(0);
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == quote) {
+                    scratch.append(buffer, start, pos - start);
+                    pos++;
+                    return scratch.toString();
+                }
+                if (c == '\\') {
+                    scratch.append(buffer, start, pos - start);
+                    pos++;
+                    scratch.append(readEscape());
+                    start = pos;
+                    continue;
+                }
+                pos++;
+            }
+            scratch.append(buffer, start, pos - start);
+            if (!fill()) {
+                throw syntaxError("string não terminada");
+            }
+        }
+    }
+    
+    private void skipQuoted() throws IOException {
+        while (true) {
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == quote) {
+                    return;
+                }
+                if (c == '\\') {
+                    readEscape();
+                }
+            }
+            if (!fill()) {
+                throw syntaxError("string não terminada");
+            }
+        }
+    }
+    
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = read();
+                    int digit = Character.digit(h, 16);
+                    if (h == -1 || digit < 0) {
+                        throw syntaxError("escape unicode inválido");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                return (char) c;
+            default:
+                throw syntaxError("escape inválido");
+        }
+    }
+    
+    /**
+     * Lê os caracteres do número para o buffer de trabalho; retorna true se for inteiro
+     */
+    private boolean readNumber() throws IOException {
+        scratch.setLength(0);
+        boolean integral = true;
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+                scratch.append(c);
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                scratch.append(c);
+                integral = false;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (scratch.length() == 0 || (scratch.length() == 1 && scratch.charAt(0) == '-')) {
+            throw syntaxError("número inválido");
+        }
+        return integral;
+    }
+    
+    private void skipNumber() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return;
+            }
+            char c = buffer[pos];
+            if (!((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E')) {
+                return;
+            }
+            pos++;
+        }
+    }
+    
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException("JSON inválido na posição " + getPosition() + ": " + message);
+    }
+}
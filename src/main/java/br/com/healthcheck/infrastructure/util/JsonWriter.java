@@ -0,0 +1,250 @@
+package br.com.healthcheck.infrastructure.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escritor JSON em streaming: codifica UTF-8 e escapa strings direto num buffer de bytes
+ * que é despejado no OutputStream, sem montar árvore nem Strings intermediárias
+ */
+public class JsonWriter implements Closeable, Flushable {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private final byte[] digits = new byte[20];
+    private int count;
+    
+    private boolean[] first = new boolean[32];
+    private int depth;
+    private boolean afterName;
+    
+    public JsonWriter(OutputStream out) {
+        this.out = out;
+    }
+    
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        write('{');
+        push();
+        return this;
+    }
+    
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        write('}');
+        return this;
+    }
+    
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        write('[');
+        push();
+        return this;
+    }
+    
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        write(']');
+        return this;
+    }
+    
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        writeString(name);
+        write(':');
+        afterName = true;
+        return this;
+    }
+    
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+    
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+    
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        if (value == (long) value) {
+            writeLong((long) value);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+        return this;
+    }
+    
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+    
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeAscii("null");
+        return this;
+    }
+    
+    /**
+     * Escreve um trecho JSON já serializado como valor
+     */
+    public JsonWriter rawValue(byte[] json) throws IOException {
+        beforeValue();
+        write(json, 0, json.length);
+        return this;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+    
+    private void push() {
+        if (++depth == first.length) {
+            boolean[] grown = new boolean[first.length * 2];
+            System.arraycopy(first, 0, grown, 0, first.length);
+            first = grown;
+        }
+        first[depth] = true;
+    }
+    
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        separator();
+    }
+    
+    private void separator() throws IOException {
+        if (depth == 0) {
+            return;
+        }
+        if (first[depth]) {
+            first[depth] = false;
+        } else {
+            write(',');
+        }
+    }
+    
+    private void write(int b) throws IOException {
+        if (count == buffer.length) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        buffer[count++] = (byte) b;
+    }
+    
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length - count) {
+            out.write(buffer, 0, count);
+            count = 0;
+            if (length > buffer.length) {
+                out.write(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+    
+    private void writeAscii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+    
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        // Dígitos do fim para o começo, sem alocar String
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        write(digits, i, digits.length - i);
+    }
+    
+    private void writeString(String s) throws IOException {
+        write('"');
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    write('\\');
+                    write(c);
+                } else if (c >= 0x20) {
+                    write(c);
+                } else {
+                    writeControl(c);
+                }
+            } else if (c < 0x800) {
+                write(0xC0 | (c >> 6));
+                write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                write(0xF0 | (codePoint >> 18));
+                write(0x80 | ((codePoint >> 12) & 0x3F));
+                write(0x80 | ((codePoint >> 6) & 0x3F));
+                write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                write('?');
+            } else {
+                write(0xE0 | (c >> 12));
+                write(0x80 | ((c >> 6) & 0x3F));
+                write(0x80 | (c & 0x3F));
+            }
+        }
+        write('"');
+    }
+    
+    private void writeControl(char c) throws IOException {
+        write('\\');
+        switch (c) {
+            case '\n': write('n'); break;
+            case '\r': write('r'); break;
+            case '\t': write('t'); break;
+            case '\b': write('b'); break;
+            case '\f': write('f'); break;
+            default:
+                write('u');
+                write('0');
+                write('0');
+                write(HEX[c >> 4]);
+                write(HEX[c & 0xF]);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.healthcheck.infrastructure.util;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitura simples dos parâmetros da query string de uma requisição
+ */
+public class QueryParams {
+    private final Map<String, String> params = new HashMap<>();
+    
+    private QueryParams() {
+    }
+    
+    public static QueryParams parse(URI uri) {
+        QueryParams query = new QueryParams();
+        String raw = uri.getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            query.params.putIfAbsent(decode(key), decode(value));
+        }
+        return query;
+    }
+    
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+    
+    public String get(String key) {
+        return params.get(key);
+    }
+    
+    public String get(String key, String defaultValue) {
+        String value = params.get(key);
+        return value != null ? value : defaultValue;
+    }
+    
+    public boolean getBoolean(String key) {
+        String value = params.get(key);
+        return value != null && (value.isEmpty() || "true".equalsIgnoreCase(value) || "1".equals(value));
+    }
+    
+    public int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(params.get(key));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.healthcheck.infrastructure.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatação de horários epoch millis como data e hora local ISO (2024-01-31T12:34:56.789).
+ *
+ * Os resultados de um snapshot se concentram em poucos minutos: a parte até os segundos
+ * fica guardada numa tabela pequena e só os milissegundos são escritos a cada chamada.
+ */
+public class Timestamps {
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int SLOTS = 256; // potência de 2; cobre os últimos ~4 minutos
+    
+    // Entradas imutáveis: corridas entre threads só custam uma formatação a mais
+    private static final Second[] CACHE = new Second[SLOTS];
+    
+    private Timestamps() {
+    }
+    
+    public static String format(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        int slot = (int) (epochSecond & (SLOTS - 1));
+        Second second = CACHE[slot];
+        if (second == null || second.epochSecond != epochSecond) {
+            // Fuso consultado a cada segundo novo: acompanha mudanças de horário de verão
+            String prefix = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault())
+                .format(SECONDS);
+            second = new Second(epochSecond, prefix);
+            CACHE[slot] = second;
+        }
+        
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        String prefix = second.prefix;
+        int length = prefix.length();
+        char[] chars = new char[length + 4];
+        prefix.getChars(0, length, chars, 0);
+        chars[length] = '.';
+        chars[length + 1] = (char) ('0' + millis / 100);
+        chars[length + 2] = (char) ('0' + millis / 10 % 10);
+        chars[length + 3] = (char) ('0' + millis % 10);
+        return new String(chars);
+    }
+    
+    private static class Second {
+        private final long epochSecond;
+        private final String prefix;
+        
+        Second(long epochSecond, String prefix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+        }
+    }
+}
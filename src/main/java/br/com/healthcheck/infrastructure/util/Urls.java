@@ -0,0 +1,28 @@
+package br.com.healthcheck.infrastructure.util;
+
+import java.net.URI;
+
+/**
+ * Utilitários de URL compartilhados pelo executor e pelo circuit breaker
+ */
+public class Urls {
+    
+    private Urls() {
+    }
+    
+    /**
+     * Identifica o host de destino (scheme + host + porta, com a porta padrão explícita)
+     */
+    public static String hostKey(String url) {
+        try {
+            URI uri = URI.create(url);
+            int port = uri.getPort();
+            if (port < 0) {
+                port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+        } catch (Exception e) {
+            return String.valueOf(url);
+        }
+    }
+}
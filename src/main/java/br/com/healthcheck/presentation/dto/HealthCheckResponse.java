@@ -1,40 +1,58 @@
 package br.com.healthcheck.presentation.dto;
 
+import br.com.healthcheck.domain.entity.Component;
 import br.com.healthcheck.domain.entity.HealthCheckResult;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import br.com.healthcheck.domain.entity.HealthCounts;
+import br.com.healthcheck.domain.entity.LatencySummary;
+import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * DTO de resposta para o endpoint de health check
  */
 public class HealthCheckResponse {
     private Map<String, List<ServiceHealthDto>> services;
+    private Map<String, LatencyDto> categoryLatency;
     private SummaryDto summary;
     
     public HealthCheckResponse(List<HealthCheckResult> results) {
+        this(new CheckHealthUseCase.HealthCheckSummary(results), null);
+    }
+    
+    /**
+     * Inclui os percentis de latência de cada serviço e categoria quando latency não é null.
+     * O resumo usa a contagem que já vem no summary.
+     */
+    public HealthCheckResponse(CheckHealthUseCase.HealthCheckSummary summary, GetLatencyUseCase.LatencyReport latency) {
         // Agrupar por categoria
-        this.services = results.stream()
-            .collect(Collectors.groupingBy(
-                HealthCheckResult::getCategory,
-                LinkedHashMap::new,
-                Collectors.mapping(ServiceHealthDto::from, Collectors.toList())
-            ));
+        this.services = new LinkedHashMap<>();
+        for (HealthCheckResult result : summary.getResults()) {
+            services.computeIfAbsent(result.getCategory(), category -> new ArrayList<>())
+                .add(ServiceHealthDto.from(result, latency));
+        }
         
-        // Calcular estatísticas
-        int total = results.size();
-        int healthy = (int) results.stream().filter(r -> "healthy".equals(r.getStatus())).count();
-        int unhealthy = (int) results.stream().filter(r -> "unhealthy".equals(r.getStatus())).count();
-        int errors = (int) results.stream().filter(r -> "error".equals(r.getStatus())).count();
+        this.categoryLatency = new LinkedHashMap<>();
+        if (latency != null) {
+            for (String category : services.keySet()) {
+                LatencyDto dto = LatencyDto.from(latency.getCategory(category));
+                if (dto != null) {
+                    categoryLatency.put(category, dto);
+                }
+            }
+        }
         
-        this.summary = new SummaryDto(total, healthy, unhealthy, errors);
+        this.summary = SummaryDto.from(summary.getCounts());
     }
     
     public Map<String, List<ServiceHealthDto>> getServices() {
         return services;
     }
     
+    public Map<String, LatencyDto> getCategoryLatency() {
+        return categoryLatency;
+    }
+    
     public SummaryDto getSummary() {
         return summary;
     }
@@ -46,29 +64,39 @@ public class HealthCheckResponse {
         private String status;
         private int statusCode;
         private long responseTime;
-        private String timestamp;
+        private long timestamp; // epoch millis
         private String message;
+        private String errorType;
+        private String lastStatus;
         private HealthDetailsDto healthDetails;
+        private LatencyDto latency;
         
         public static ServiceHealthDto from(HealthCheckResult result) {
+            return from(result, null);
+        }
+        
+        public static ServiceHealthDto from(HealthCheckResult result, GetLatencyUseCase.LatencyReport latency) {
             ServiceHealthDto dto = new ServiceHealthDto();
             dto.name = result.getServiceName();
             dto.url = result.getServiceUrl();
             dto.category = result.getCategory();
-            dto.status = result.getStatus();
+            dto.status = result.getStatus().getValue();
             dto.statusCode = result.getStatusCode();
             dto.responseTime = result.getResponseTime();
-            dto.timestamp = result.getTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            dto.timestamp = result.getTimestamp();
             dto.message = result.getMessage();
+            dto.errorType = result.getErrorType();
+            dto.lastStatus = result.getLastStatus() != null ? result.getLastStatus().getValue() : null;
+            if (latency != null) {
+                dto.latency = LatencyDto.from(latency.getService(result.getServiceName()));
+            }
             
-            if (result.getRootStatus() != null || 
-                (result.getComponents() != null && !result.getComponents().isEmpty())) {
+            if (result.getRootStatus() != null || !result.getComponents().isEmpty()) {
                 dto.healthDetails = new HealthDetailsDto();
                 dto.healthDetails.rootStatus = result.getRootStatus();
-                if (result.getComponents() != null) {
-                    dto.healthDetails.components = result.getComponents().stream()
-                        .map(c -> new ComponentDto(c.getName(), c.getStatus()))
-                        .collect(Collectors.toList());
+                // Componentes são imutáveis e compartilhados: a lista do resultado é usada direto
+                if (!result.getComponents().isEmpty()) {
+                    dto.healthDetails.components = result.getComponents();
                 }
             }
             
@@ -82,30 +110,54 @@ public class HealthCheckResponse {
         public String getStatus() { return status; }
         public int getStatusCode() { return statusCode; }
         public long getResponseTime() { return responseTime; }
-        public String getTimestamp() { return timestamp; }
+        public long getTimestamp() { return timestamp; }
         public String getMessage() { return message; }
+        public String getErrorType() { return errorType; }
+        public String getLastStatus() { return lastStatus; }
         public HealthDetailsDto getHealthDetails() { return healthDetails; }
+        public LatencyDto getLatency() { return latency; }
     }
     
-    public static class HealthDetailsDto {
-        private String rootStatus;
-        private List<ComponentDto> components;
+    /**
+     * Percentis de latência em milissegundos (com precisão de microssegundos)
+     */
+    public static class LatencyDto {
+        private long count;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double max;
         
-        public String getRootStatus() { return rootStatus; }
-        public List<ComponentDto> getComponents() { return components; }
-    }
-    
-    public static class ComponentDto {
-        private String name;
-        private String status;
+        public static LatencyDto from(LatencySummary summary) {
+            if (summary == null) {
+                return null;
+            }
+            LatencyDto dto = new LatencyDto();
+            dto.count = summary.getCount();
+            dto.p50 = toMillis(summary.getP50());
+            dto.p90 = toMillis(summary.getP90());
+            dto.p99 = toMillis(summary.getP99());
+            dto.max = toMillis(summary.getMax());
+            return dto;
+        }
         
-        public ComponentDto(String name, String status) {
-            this.name = name;
-            this.status = status;
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
         }
         
-        public String getName() { return name; }
-        public String getStatus() { return status; }
+        public long getCount() { return count; }
+        public double getP50() { return p50; }
+        public double getP90() { return p90; }
+        public double getP99() { return p99; }
+        public double getMax() { return max; }
+    }
+    
+    public static class HealthDetailsDto {
+        private String rootStatus;
+        private List<Component> components;
+        
+        public String getRootStatus() { return rootStatus; }
+        public List<Component> getComponents() { return components; }
     }
     
     public static class SummaryDto {
@@ -113,21 +165,38 @@ public class HealthCheckResponse {
         private int healthy;
         private int unhealthy;
         private int errors;
-        private String timestamp;
+        private int pending;
+        private long timestamp; // epoch millis
         
         public SummaryDto(int total, int healthy, int unhealthy, int errors) {
+            this(total, healthy, unhealthy, errors, 0);
+        }
+        
+        public SummaryDto(int total, int healthy, int unhealthy, int errors, int pending) {
             this.total = total;
             this.healthy = healthy;
             this.unhealthy = unhealthy;
             this.errors = errors;
-            this.timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            this.pending = pending;
+            this.timestamp = System.currentTimeMillis();
+        }
+        
+        public static SummaryDto from(HealthCounts counts) {
+            return new SummaryDto(
+                counts.getTotal(),
+                counts.getHealthy(),
+                counts.getUnhealthy(),
+                counts.getErrors(),
+                counts.getPending()
+            );
         }
         
         public int getTotal() { return total; }
         public int getHealthy() { return healthy; }
         public int getUnhealthy() { return unhealthy; }
         public int getErrors() { return errors; }
-        public String getTimestamp() { return timestamp; }
+        public int getPending() { return pending; }
+        public long getTimestamp() { return timestamp; }
     }
 }
 
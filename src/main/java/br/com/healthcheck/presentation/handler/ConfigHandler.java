@@ -3,7 +3,6 @@ package br.com.healthcheck.presentation.handler;
 import br.com.healthcheck.domain.entity.Service;
 import br.com.healthcheck.domain.usecase.GetConfigUseCase;
 import br.com.healthcheck.domain.usecase.SaveConfigUseCase;
-import br.com.healthcheck.infrastructure.config.EnvironmentManager;
 import br.com.healthcheck.infrastructure.util.JsonParser;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
@@ -15,13 +14,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Handler HTTP para o endpoint /api/config
+ * Handler HTTP para o endpoint /api/config de um ambiente
  */
 public class ConfigHandler implements HttpHandler {
+    private final String environment;
     private final GetConfigUseCase getConfigUseCase;
     private final SaveConfigUseCase saveConfigUseCase;
     
-    public ConfigHandler(GetConfigUseCase getConfigUseCase, SaveConfigUseCase saveConfigUseCase) {
+    public ConfigHandler(String environment, GetConfigUseCase getConfigUseCase, SaveConfigUseCase saveConfigUseCase) {
+        this.environment = environment;
         this.getConfigUseCase = getConfigUseCase;
         this.saveConfigUseCase = saveConfigUseCase;
     }
@@ -33,7 +34,7 @@ public class ConfigHandler implements HttpHandler {
         } else if (exchange.getRequestMethod().equals("POST")) {
             handlePost(exchange);
         } else {
-            sendResponse(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
         }
     }
     
@@ -44,7 +45,7 @@ public class ConfigHandler implements HttpHandler {
             JsonParser.JsonObject json = new JsonParser.JsonObject();
             json.put("refreshInterval", config.getRefreshInterval());
             json.put("timeout", config.getTimeout());
-            json.put("environment", EnvironmentManager.getEnvironment());
+            json.put("environment", environment);
             
             JsonParser.JsonArray servicesArray = new JsonParser.JsonArray();
             for (Service service : config.getServices()) {
@@ -53,14 +54,26 @@ public class ConfigHandler implements HttpHandler {
                 serviceJson.put("url", service.getUrl());
                 serviceJson.put("category", service.getCategory());
                 serviceJson.put("expectedStatus", service.getExpectedStatus());
+                if (service.getMaxBodyBytes() > 0) {
+                    serviceJson.put("maxBodyBytes", service.getMaxBodyBytes());
+                }
+                if (service.getMinInterval() > 0) {
+                    serviceJson.put("minInterval", service.getMinInterval());
+                }
+                if (service.getMaxInterval() > 0) {
+                    serviceJson.put("maxInterval", service.getMaxInterval());
+                }
+                if (service.getTimeout() > 0) {
+                    serviceJson.put("timeout", service.getTimeout());
+                }
                 servicesArray.add(serviceJson);
             }
             json.put("services", servicesArray);
             
-            sendResponse(exchange, 200, "application/json; charset=utf-8", json.toJsonString());
+            HttpResponses.send(exchange, 200, "application/json; charset=utf-8", json.toJsonString());
             
         } catch (Exception e) {
-            sendResponse(exchange, 500, "application/json", 
+            HttpResponses.send(exchange, 500, "application/json", 
                 "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
         }
     }
@@ -77,12 +90,17 @@ public class ConfigHandler implements HttpHandler {
             List<Service> services = new ArrayList<>();
             for (int i = 0; i < servicesArray.size(); i++) {
                 JsonParser.JsonObject serviceObj = servicesArray.getObject(i);
-                services.add(new Service(
+                Service service = new Service(
                     serviceObj.getString("name"),
                     serviceObj.getString("url"),
                     serviceObj.getString("category", "Geral"),
                     serviceObj.getInt("expectedStatus", 200)
-                ));
+                );
+                services.add(service
+                    .withMaxBodyBytes(serviceObj.getInt("maxBodyBytes", 0))
+                    .withMinInterval(serviceObj.getInt("minInterval", 0))
+                    .withMaxInterval(serviceObj.getInt("maxInterval", 0))
+                    .withTimeout(serviceObj.getInt("timeout", 0)));
             }
             
             saveConfigUseCase.execute(services, refreshInterval, timeout);
@@ -90,12 +108,12 @@ public class ConfigHandler implements HttpHandler {
             JsonParser.JsonObject response = new JsonParser.JsonObject();
             response.put("success", true);
             response.put("message", "Configuração atualizada com sucesso");
-            response.put("environment", EnvironmentManager.getEnvironment());
+            response.put("environment", environment);
             
-            sendResponse(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
+            HttpResponses.send(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
             
         } catch (Exception e) {
-            sendResponse(exchange, 500, "application/json", 
+            HttpResponses.send(exchange, 500, "application/json", 
                 "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
         }
     }
@@ -115,19 +133,6 @@ public class ConfigHandler implements HttpHandler {
         }
     }
     
-    private void sendResponse(HttpExchange exchange, int statusCode, 
-                             String contentType, String response) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", contentType);
-        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
-        exchange.sendResponseHeaders(statusCode, responseBytes.length);
-        
-        try (java.io.OutputStream os = exchange.getResponseBody()) {
-            os.write(responseBytes);
-        }
-        exchange.close();
-    }
-    
     private String escapeJson(String str) {
         if (str == null) return "";
         return str.replace("\\", "\\\\")
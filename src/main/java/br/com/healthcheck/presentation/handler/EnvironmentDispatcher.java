@@ -0,0 +1,36 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.infrastructure.config.EnvironmentManager;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encaminha a requisição para o handler do ambiente pedido em ?env=
+ * (ou do ambiente padrão, se ausente); cada ambiente tem seus próprios handlers
+ */
+public class EnvironmentDispatcher implements HttpHandler {
+    private final Map<String, ? extends HttpHandler> handlers;
+    
+    public EnvironmentDispatcher(Map<String, ? extends HttpHandler> handlers) {
+        this.handlers = handlers;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String env = QueryParams.parse(exchange.getRequestURI()).get("env");
+        if (env == null || env.isEmpty()) {
+            env = EnvironmentManager.getEnvironment();
+        }
+        
+        HttpHandler handler = handlers.get(env);
+        if (handler == null) {
+            HttpResponses.send(exchange, 404, "application/json",
+                "{\"error\":\"Ambiente desconhecido. Use um de: " + String.join(", ", handlers.keySet()) + "\"}");
+            return;
+        }
+        handler.handle(exchange);
+    }
+}
@@ -11,6 +11,8 @@ import java.nio.charset.StandardCharsets;
 
 /**
  * Handler HTTP para o endpoint /api/environment
+ * GET lista os ambientes monitorados; POST altera o ambiente padrão, usado pelas
+ * requisições que não informam ?env= (o dashboard sempre informa)
  */
 public class EnvironmentHandler implements HttpHandler {
     
@@ -21,7 +23,7 @@ public class EnvironmentHandler implements HttpHandler {
         } else if (exchange.getRequestMethod().equals("POST")) {
             handlePost(exchange);
         } else {
-            sendResponse(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
         }
     }
     
@@ -31,14 +33,15 @@ public class EnvironmentHandler implements HttpHandler {
             response.put("current", EnvironmentManager.getEnvironment());
             
             JsonParser.JsonArray available = new JsonParser.JsonArray();
-            available.add("homolog");
-            available.add("prod");
+            for (String env : EnvironmentManager.getEnvironments()) {
+                available.add(env);
+            }
             response.put("available", available);
             
-            sendResponse(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
+            HttpResponses.send(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
             
         } catch (Exception e) {
-            sendResponse(exchange, 500, "application/json", 
+            HttpResponses.send(exchange, 500, "application/json", 
                 "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
         }
     }
@@ -63,27 +66,28 @@ public class EnvironmentHandler implements HttpHandler {
             }
             
             if (env == null || env.isEmpty()) {
-                sendResponse(exchange, 400, "application/json", 
+                HttpResponses.send(exchange, 400, "application/json", 
                     "{\"error\":\"Campo 'environment' não encontrado ou vazio\"}");
                 return;
             }
             
             env = env.trim().toLowerCase();
             
-            if ("prod".equals(env) || "homolog".equals(env)) {
+            if (EnvironmentManager.isAvailable(env)) {
                 EnvironmentManager.setEnvironment(env);
                 JsonParser.JsonObject response = new JsonParser.JsonObject();
                 response.put("success", true);
                 response.put("environment", EnvironmentManager.getEnvironment());
-                response.put("message", "Ambiente alterado para: " + EnvironmentManager.getEnvironment());
-                sendResponse(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
+                response.put("message", "Ambiente padrão alterado para: " + EnvironmentManager.getEnvironment());
+                HttpResponses.send(exchange, 200, "application/json; charset=utf-8", response.toJsonString());
             } else {
-                sendResponse(exchange, 400, "application/json", 
-                    "{\"error\":\"Ambiente inválido: '" + escapeJson(env) + "'. Use 'homolog' ou 'prod'\"}");
+                HttpResponses.send(exchange, 400, "application/json", 
+                    "{\"error\":\"Ambiente inválido: '" + escapeJson(env) + "'. Use um de: "
+                        + escapeJson(String.join(", ", EnvironmentManager.getEnvironments())) + "\"}");
             }
             
         } catch (Exception e) {
-            sendResponse(exchange, 500, "application/json", 
+            HttpResponses.send(exchange, 500, "application/json", 
                 "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
         }
     }
@@ -103,19 +107,6 @@ public class EnvironmentHandler implements HttpHandler {
         }
     }
     
-    private void sendResponse(HttpExchange exchange, int statusCode, 
-                             String contentType, String response) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", contentType);
-        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
-        exchange.sendResponseHeaders(statusCode, responseBytes.length);
-        
-        try (java.io.OutputStream os = exchange.getResponseBody()) {
-            os.write(responseBytes);
-        }
-        exchange.close();
-    }
-    
     private String escapeJson(String str) {
         if (str == null) return "";
         return str.replace("\\", "\\\\")
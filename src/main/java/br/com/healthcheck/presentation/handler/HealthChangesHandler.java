@@ -0,0 +1,76 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.HealthChanges;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+
+/**
+ * Handler HTTP para o endpoint /api/health/changes?since=N
+ * Devolve só os serviços cujo status, código HTTP ou status dos componentes mudou depois da
+ * versão N (com o último estado de cada um) e os que saíram da configuração, mais a versão
+ * atual, que é o since da próxima consulta. O tamanho da resposta acompanha o número de
+ * mudanças, não o de serviços.
+ *
+ * Com "resync": true a versão pedida já saiu do log (ou é de outra execução do servidor):
+ * o cliente busca /api/health completo e continua a partir da versão recebida aqui; mudanças
+ * que já estejam no snapshot completo apenas se repetem na consulta seguinte.
+ */
+public class HealthChangesHandler implements HttpHandler {
+    private final GetHealthSnapshotUseCase getHealthSnapshotUseCase;
+    
+    public HealthChangesHandler(GetHealthSnapshotUseCase getHealthSnapshotUseCase) {
+        this.getHealthSnapshotUseCase = getHealthSnapshotUseCase;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        String sinceParam = QueryParams.parse(exchange.getRequestURI()).get("since");
+        long since;
+        try {
+            since = Long.parseLong(sinceParam == null ? "" : sinceParam.trim());
+        } catch (NumberFormatException e) {
+            since = -1;
+        }
+        if (since < 0) {
+            HttpResponses.send(exchange, 400, "application/json", "{\"error\":\"Parâmetro since inválido\"}");
+            return;
+        }
+        
+        HealthChanges changes = getHealthSnapshotUseCase.getChangesSince(since);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        try (JsonWriter json = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            json.beginObject();
+            json.name("version").value(changes.getVersion());
+            if (changes.isResync()) {
+                json.name("resync").value(true);
+            } else {
+                json.name("changes").beginArray();
+                for (HealthChanges.Change change : changes.getChanges()) {
+                    if (change.isRemoved()) {
+                        json.beginObject();
+                        json.name("name").value(change.getServiceName());
+                        json.name("removed").value(true);
+                        json.endObject();
+                    } else {
+                        HealthHandler.toServiceJson(HealthCheckResponse.ServiceHealthDto.from(change.getResult()), json);
+                    }
+                }
+                json.endArray();
+            }
+            json.endObject();
+        } finally {
+            exchange.close();
+        }
+    }
+}
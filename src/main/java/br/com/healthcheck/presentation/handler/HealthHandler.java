@@ -1,120 +1,360 @@
 package br.com.healthcheck.presentation.handler;
 
+import br.com.healthcheck.domain.entity.Component;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthPage;
+import br.com.healthcheck.domain.entity.HealthQuery;
+import br.com.healthcheck.domain.entity.HealthStatus;
 import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
 import br.com.healthcheck.presentation.dto.HealthCheckResponse;
-import br.com.healthcheck.infrastructure.util.JsonParser;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import br.com.healthcheck.infrastructure.util.Timestamps;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handler HTTP para o endpoint /api/health
+ * Responde a partir do snapshot mantido pelo agendador, já serializado e versionado por ETag;
+ * ?fresh=true força uma rodada síncrona.
+ *
+ * Com filtros (status, category, name, minLatency), ordenação (sort) ou página (limit, cursor),
+ * devolve só os serviços pedidos, numa lista ordenada, montada a partir dos índices do snapshot.
  */
 public class HealthHandler implements HttpHandler {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String[] QUERY_PARAMS = {"status", "category", "name", "minLatency", "sort", "limit", "cursor"};
+    
     private final CheckHealthUseCase checkHealthUseCase;
+    private final GetHealthSnapshotUseCase getHealthSnapshotUseCase;
+    private final GetLatencyUseCase getLatencyUseCase;
+    private final HealthSnapshotCache snapshotCache;
     
-    public HealthHandler(CheckHealthUseCase checkHealthUseCase) {
+    public HealthHandler(CheckHealthUseCase checkHealthUseCase,
+                         GetHealthSnapshotUseCase getHealthSnapshotUseCase,
+                         GetLatencyUseCase getLatencyUseCase,
+                         HealthSnapshotCache snapshotCache) {
         this.checkHealthUseCase = checkHealthUseCase;
+        this.getHealthSnapshotUseCase = getHealthSnapshotUseCase;
+        this.getLatencyUseCase = getLatencyUseCase;
+        this.snapshotCache = snapshotCache;
     }
     
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         if (!exchange.getRequestMethod().equals("GET")) {
-            sendResponse(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
             return;
         }
         
         try {
-            CheckHealthUseCase.HealthCheckSummary summary = checkHealthUseCase.execute();
-            HealthCheckResponse response = new HealthCheckResponse(summary.getResults());
-            
-            JsonParser.JsonObject jsonResponse = toJson(response);
-            sendResponse(exchange, 200, "application/json; charset=utf-8", jsonResponse.toJsonString());
-            
+            QueryParams query = QueryParams.parse(exchange.getRequestURI());
+            if (query.getBoolean("fresh")) {
+                sendFresh(exchange);
+            } else if (isFiltered(query)) {
+                sendPage(exchange, query);
+            } else {
+                sendSnapshot(exchange);
+            }
         } catch (Exception e) {
             e.printStackTrace();
-            sendResponse(exchange, 500, "application/json", 
+            if (exchange.getResponseCode() != -1) {
+                // O 200 já foi enviado e o corpo estava sendo transmitido: não há como trocar o status,
+                // só encerrar a resposta (o cliente recebe o corpo incompleto)
+                exchange.close();
+                return;
+            }
+            HttpResponses.send(exchange, 500, "application/json", 
+                "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
+        }
+    }
+    
+    /**
+     * Snapshot já serializado (e comprimido, se for o caso, uma vez por versão);
+     * 304 quando o cliente já tem a versão atual
+     */
+    private void sendSnapshot(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        
+        HealthSnapshotCache.Entry entry = snapshotCache.get();
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            String matched = matchingETag(ifNoneMatch, entry.getETag());
+            if (matched != null) {
+                exchange.getResponseHeaders().set("ETag", matched);
+                exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        
+        HttpResponses.Encoding encoding = HttpResponses.shouldCompress(entry.getBody().length)
+            ? HttpResponses.negotiate(exchange)
+            : HttpResponses.Encoding.IDENTITY;
+        exchange.getResponseHeaders().set("ETag", entry.getETag(encoding));
+        HttpResponses.sendEncoded(exchange, 200, "application/json; charset=utf-8", entry.getBody(encoding), encoding);
+    }
+    
+    /**
+     * Rodada síncrona: serializa direto no corpo da resposta (chunked), sem árvore nem String intermediária
+     */
+    private void sendFresh(HttpExchange exchange) throws IOException {
+        HealthCheckResponse response = new HealthCheckResponse(
+            checkHealthUseCase.execute(),
+            getLatencyUseCase.execute(GetLatencyUseCase.DEFAULT_WINDOW_MINUTES)
+        );
+        
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        try (JsonWriter writer = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            toJson(response, writer);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Página de serviços filtrados e ordenados. Percentis de latência não são incluídos
+     * (ficam em /api/latency): só o tempo de resposta da última verificação.
+     */
+    private void sendPage(HttpExchange exchange, QueryParams params) throws IOException {
+        HealthQuery query;
+        HealthPage page;
+        try {
+            query = parseQuery(params);
+            page = getHealthSnapshotUseCase.find(query);
+        } catch (IllegalArgumentException e) {
+            HttpResponses.send(exchange, 400, "application/json",
                 "{\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
+            return;
+        }
+        
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        try (JsonWriter json = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            json.beginObject();
+            json.name("services").beginArray();
+            for (HealthCheckResult result : page.getResults()) {
+                toServiceJson(HealthCheckResponse.ServiceHealthDto.from(result), json);
+            }
+            json.endArray();
+            json.name("summary");
+            toSummaryJson(HealthCheckResponse.SummaryDto.from(getHealthSnapshotUseCase.getCounts()), json);
+            if (page.getNextCursor() != null) {
+                json.name("nextCursor").value(page.getNextCursor());
+            }
+            json.endObject();
+        } finally {
+            exchange.close();
         }
     }
     
-    private JsonParser.JsonObject toJson(HealthCheckResponse response) {
-        JsonParser.JsonObject json = new JsonParser.JsonObject();
+    private static boolean isFiltered(QueryParams params) {
+        for (String name : QUERY_PARAMS) {
+            if (params.get(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Lê os filtros da query string; IllegalArgumentException com a mensagem para o cliente se algum for inválido
+     */
+    private static HealthQuery parseQuery(QueryParams params) {
+        Set<HealthStatus> statuses = EnumSet.noneOf(HealthStatus.class);
+        for (String value : split(params.get("status"))) {
+            HealthStatus status = HealthStatus.fromValue(value);
+            if (status == null) {
+                throw new IllegalArgumentException("Status inválido: " + value);
+            }
+            statuses.add(status);
+        }
+        Set<String> categories = new HashSet<>(split(params.get("category")));
+        
+        long minLatency = -1;
+        String minLatencyParam = params.get("minLatency");
+        if (minLatencyParam != null && !minLatencyParam.isEmpty()) {
+            try {
+                minLatency = Long.parseLong(minLatencyParam);
+            } catch (NumberFormatException e) {
+                minLatency = -1;
+            }
+            if (minLatency < 0) {
+                throw new IllegalArgumentException("minLatency deve ser um número de ms >= 0");
+            }
+        }
+        
+        HealthQuery.Sort sort;
+        String sortParam = params.get("sort", "config");
+        switch (sortParam) {
+            case "config": sort = HealthQuery.Sort.CONFIG; break;
+            case "name": sort = HealthQuery.Sort.NAME; break;
+            case "latency": sort = HealthQuery.Sort.LATENCY; break;
+            case "-latency": sort = HealthQuery.Sort.LATENCY_DESC; break;
+            default: throw new IllegalArgumentException("Ordenação inválida (config, name, latency ou -latency)");
+        }
+        
+        int limit = DEFAULT_PAGE_SIZE;
+        String limitParam = params.get("limit");
+        if (limitParam != null && !limitParam.isEmpty()) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        
+        return new HealthQuery(statuses, categories, params.get("name"), minLatency, sort, params.get("cursor"), limit);
+    }
+    
+    private static List<String> split(String value) {
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.split(",")) {
+                if (!part.trim().isEmpty()) {
+                    values.add(part.trim());
+                }
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * ETag do If-None-Match que corresponde à versão atual, em qualquer codificação; null se nenhum
+     */
+    private static String matchingETag(String ifNoneMatch, String etag) {
+        String base = etag.substring(0, etag.length() - 1);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*")) {
+                return etag;
+            }
+            for (HttpResponses.Encoding encoding : HttpResponses.Encoding.values()) {
+                if (candidate.equals(base + encoding.getETagSuffix() + "\"")) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+    
+    static void toJson(HealthCheckResponse response, JsonWriter json) throws IOException {
+        json.beginObject();
         
         // Services agrupados por categoria
-        JsonParser.JsonObject servicesJson = new JsonParser.JsonObject();
+        json.name("services").beginObject();
         for (Map.Entry<String, List<HealthCheckResponse.ServiceHealthDto>> entry : 
              response.getServices().entrySet()) {
-            JsonParser.JsonArray categoryArray = new JsonParser.JsonArray();
+            json.name(entry.getKey()).beginArray();
             for (HealthCheckResponse.ServiceHealthDto service : entry.getValue()) {
-                categoryArray.add(toServiceJson(service));
+                toServiceJson(service, json);
             }
-            servicesJson.put(entry.getKey(), categoryArray);
+            json.endArray();
         }
-        json.put("services", servicesJson);
+        json.endObject();
+        
+        // Percentis de latência por categoria
+        json.name("categoryLatency").beginObject();
+        for (Map.Entry<String, HealthCheckResponse.LatencyDto> entry : response.getCategoryLatency().entrySet()) {
+            json.name(entry.getKey());
+            toLatencyJson(entry.getValue(), json);
+        }
+        json.endObject();
         
         // Summary
-        HealthCheckResponse.SummaryDto summary = response.getSummary();
-        JsonParser.JsonObject summaryJson = new JsonParser.JsonObject();
-        summaryJson.put("total", summary.getTotal());
-        summaryJson.put("healthy", summary.getHealthy());
-        summaryJson.put("unhealthy", summary.getUnhealthy());
-        summaryJson.put("errors", summary.getErrors());
-        summaryJson.put("timestamp", summary.getTimestamp());
-        json.put("summary", summaryJson);
-        
-        return json;
+        json.name("summary");
+        toSummaryJson(response.getSummary(), json);
+        
+        json.endObject();
     }
     
-    private JsonParser.JsonObject toServiceJson(HealthCheckResponse.ServiceHealthDto service) {
-        JsonParser.JsonObject json = new JsonParser.JsonObject();
-        json.put("name", service.getName());
-        json.put("url", service.getUrl());
-        json.put("category", service.getCategory());
-        json.put("status", service.getStatus());
-        json.put("statusCode", service.getStatusCode());
-        json.put("responseTime", service.getResponseTime());
-        json.put("timestamp", service.getTimestamp());
-        json.put("message", service.getMessage());
+    static void toSummaryJson(HealthCheckResponse.SummaryDto summary, JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("total").value(summary.getTotal());
+        json.name("healthy").value(summary.getHealthy());
+        json.name("unhealthy").value(summary.getUnhealthy());
+        json.name("errors").value(summary.getErrors());
+        if (summary.getPending() > 0) {
+            json.name("pending").value(summary.getPending());
+        }
+        json.name("timestamp").value(Timestamps.format(summary.getTimestamp()));
+        json.endObject();
+    }
+    
+    static void toServiceJson(HealthCheckResponse.ServiceHealthDto service, JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("name").value(service.getName());
+        json.name("url").value(service.getUrl());
+        json.name("category").value(service.getCategory());
+        json.name("status").value(service.getStatus());
+        json.name("statusCode").value(service.getStatusCode());
+        json.name("responseTime").value(service.getResponseTime());
+        json.name("timestamp").value(Timestamps.format(service.getTimestamp()));
+        json.name("message").value(service.getMessage());
+        if (service.getErrorType() != null) {
+            json.name("errorType").value(service.getErrorType());
+        }
+        if (service.getLastStatus() != null) {
+            json.name("lastStatus").value(service.getLastStatus());
+        }
         
         if (service.getHealthDetails() != null) {
-            JsonParser.JsonObject healthDetails = new JsonParser.JsonObject();
-            healthDetails.put("rootStatus", service.getHealthDetails().getRootStatus());
+            json.name("healthDetails").beginObject();
+            json.name("rootStatus").value(service.getHealthDetails().getRootStatus());
             
             if (service.getHealthDetails().getComponents() != null) {
-                JsonParser.JsonArray components = new JsonParser.JsonArray();
-                for (HealthCheckResponse.ComponentDto comp : service.getHealthDetails().getComponents()) {
-                    JsonParser.JsonObject compJson = new JsonParser.JsonObject();
-                    compJson.put("name", comp.getName());
-                    compJson.put("status", comp.getStatus());
-                    components.add(compJson);
+                json.name("components").beginArray();
+                for (Component comp : service.getHealthDetails().getComponents()) {
+                    json.beginObject();
+                    json.name("name").value(comp.getName());
+                    json.name("status").value(comp.getStatus());
+                    json.endObject();
                 }
-                healthDetails.put("components", components);
+                json.endArray();
             }
             
-            json.put("healthDetails", healthDetails);
+            json.endObject();
+        }
+        
+        if (service.getLatency() != null) {
+            json.name("latency");
+            toLatencyJson(service.getLatency(), json);
         }
         
-        return json;
+        json.endObject();
     }
     
-    private void sendResponse(HttpExchange exchange, int statusCode, 
-                             String contentType, String response) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", contentType);
-        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
-        exchange.sendResponseHeaders(statusCode, responseBytes.length);
-        
-        try (java.io.OutputStream os = exchange.getResponseBody()) {
-            os.write(responseBytes);
-        }
-        exchange.close();
+    static void toLatencyJson(HealthCheckResponse.LatencyDto latency, JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("count").value(latency.getCount());
+        json.name("p50").value(latency.getP50());
+        json.name("p90").value(latency.getP90());
+        json.name("p99").value(latency.getP99());
+        json.name("max").value(latency.getMax());
+        json.endObject();
     }
     
-    private String escapeJson(String str) {
+    private static String escapeJson(String str) {
         if (str == null) return "";
         return str.replace("\\", "\\\\")
                   .replace("\"", "\\\"")
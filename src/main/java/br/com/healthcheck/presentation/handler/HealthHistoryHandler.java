@@ -0,0 +1,112 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.usecase.GetHealthHistoryUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+
+/**
+ * Handler HTTP para o endpoint /api/health/history?service=...&window=...
+ * A janela aceita sufixos s, m, h ou d (ex.: 30m, 24h); sem sufixo, segundos. Padrão: 1h.
+ * As amostras são devolvidas em colunas (um array por campo), em ordem cronológica.
+ */
+public class HealthHistoryHandler implements HttpHandler {
+    private static final long DEFAULT_WINDOW_MS = 3600_000L;
+    
+    private final GetHealthHistoryUseCase getHealthHistoryUseCase;
+    
+    public HealthHistoryHandler(GetHealthHistoryUseCase getHealthHistoryUseCase) {
+        this.getHealthHistoryUseCase = getHealthHistoryUseCase;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        QueryParams query = QueryParams.parse(exchange.getRequestURI());
+        String service = query.get("service");
+        if (service == null || service.isEmpty()) {
+            HttpResponses.send(exchange, 400, "application/json", "{\"error\":\"Parâmetro service é obrigatório\"}");
+            return;
+        }
+        long windowMs = parseWindow(query.get("window"));
+        if (windowMs <= 0) {
+            HttpResponses.send(exchange, 400, "application/json", "{\"error\":\"Janela inválida\"}");
+            return;
+        }
+        
+        HealthHistory history = getHealthHistoryUseCase.execute(service, windowMs);
+        if (history == null) {
+            HttpResponses.send(exchange, 404, "application/json", "{\"error\":\"Serviço sem histórico\"}");
+            return;
+        }
+        
+        try (JsonWriter json = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            toJson(history, windowMs, json);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void toJson(HealthHistory history, long windowMs, JsonWriter json) throws IOException {
+        int size = history.size();
+        json.beginObject();
+        json.name("service").value(history.getServiceName());
+        json.name("window").value(windowMs / 1000);
+        json.name("count").value(size);
+        
+        json.name("timestamps").beginArray();
+        for (int i = 0; i < size; i++) {
+            json.value(history.getTimestamp(i));
+        }
+        json.endArray();
+        
+        json.name("responseTimes").beginArray();
+        for (int i = 0; i < size; i++) {
+            json.value(history.getResponseTime(i));
+        }
+        json.endArray();
+        
+        json.name("statusCodes").beginArray();
+        for (int i = 0; i < size; i++) {
+            json.value(history.getStatusCode(i));
+        }
+        json.endArray();
+        
+        json.name("statuses").beginArray();
+        for (int i = 0; i < size; i++) {
+            json.value(HealthHistory.statusName(history.getStatus(i)));
+        }
+        json.endArray();
+        
+        json.endObject();
+    }
+    
+    /**
+     * Converte "90", "90s", "30m", "24h" ou "7d" em milissegundos; -1 se inválido
+     */
+    static long parseWindow(String value) {
+        if (value == null || value.isEmpty()) {
+            return DEFAULT_WINDOW_MS;
+        }
+        long unit = 1000L;
+        char suffix = Character.toLowerCase(value.charAt(value.length() - 1));
+        if (suffix == 's' || suffix == 'm' || suffix == 'h' || suffix == 'd') {
+            unit = suffix == 's' ? 1000L : suffix == 'm' ? 60_000L : suffix == 'h' ? 3600_000L : 86400_000L;
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            long amount = Long.parseLong(value.trim());
+            return amount > 0 && amount <= Long.MAX_VALUE / unit ? amount * unit : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * JSON de /api/health já serializado para a versão atual do snapshot.
+ * A serialização acontece no máximo uma vez por versão, na primeira leitura depois
+ * de uma mudança; as demais requisições reaproveitam o mesmo array de bytes.
+ * A versão não muda com verificações que só trazem outro tempo de resposta, então o corpo
+ * também é refeito quando passa de maxAgeMs, para tempos e percentis não ficarem parados;
+ * cada corpo gerado tem o seu ETag.
+ * As variantes gzip/deflate também são geradas uma vez por versão, na primeira
+ * requisição que as pede.
+ */
+public class HealthSnapshotCache {
+    // Distingue ETags de execuções diferentes do servidor (a versão recomeça do zero)
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+    
+    private final GetHealthSnapshotUseCase getHealthSnapshotUseCase;
+    private final GetLatencyUseCase getLatencyUseCase;
+    private final long maxAgeMs;
+    private volatile Entry current;
+    private long sequence; // protegido por this
+    
+    /**
+     * @param maxAgeMs idade máxima do corpo de uma mesma versão (0 = só refaz quando a versão muda)
+     */
+    public HealthSnapshotCache(GetHealthSnapshotUseCase getHealthSnapshotUseCase,
+                               GetLatencyUseCase getLatencyUseCase,
+                               long maxAgeMs) {
+        this.getHealthSnapshotUseCase = getHealthSnapshotUseCase;
+        this.getLatencyUseCase = getLatencyUseCase;
+        this.maxAgeMs = maxAgeMs;
+    }
+    
+    public Entry get() throws IOException {
+        long version = getHealthSnapshotUseCase.getVersion();
+        Entry entry = current;
+        if (isCurrent(entry, version)) {
+            return entry;
+        }
+        
+        synchronized (this) {
+            entry = current;
+            if (isCurrent(entry, version)) {
+                return entry;
+            }
+            // A versão é lida antes dos resultados: se algo for gravado no meio, o conteúdo
+            // pode estar à frente da versão (e será refeito na próxima leitura), nunca atrás
+            CheckHealthUseCase.HealthCheckSummary summary = getHealthSnapshotUseCase.execute();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(entry != null ? entry.body.length + 256 : 4096);
+            JsonWriter json = new JsonWriter(out);
+            HealthHandler.toJson(new HealthCheckResponse(
+                summary,
+                getLatencyUseCase.execute(GetLatencyUseCase.DEFAULT_WINDOW_MINUTES)
+            ), json);
+            json.flush();
+            
+            entry = new Entry(version, System.currentTimeMillis(), etag(++sequence), out.toByteArray());
+            current = entry;
+            return entry;
+        }
+    }
+    
+    private boolean isCurrent(Entry entry, long version) {
+        return entry != null
+            && entry.version == version
+            && (maxAgeMs <= 0 || System.currentTimeMillis() - entry.createdAt < maxAgeMs);
+    }
+    
+    private static String etag(long sequence) {
+        return "\"" + BOOT_ID + "-" + sequence + "\"";
+    }
+    
+    /**
+     * Corpo serializado de uma versão; nunca é alterado depois de publicado
+     */
+    public static class Entry {
+        private final long version;
+        private final long createdAt;
+        private final String etag;
+        private final byte[] body;
+        private volatile byte[] gzip;
+        private volatile byte[] deflate;
+        
+        Entry(long version, long createdAt, String etag, byte[] body) {
+            this.version = version;
+            this.createdAt = createdAt;
+            this.etag = etag;
+            this.body = body;
+        }
+        
+        public long getVersion() {
+            return version;
+        }
+        
+        public String getETag() {
+            return etag;
+        }
+        
+        /**
+         * ETag da representação na codificação informada (cada uma tem o seu)
+         */
+        public String getETag(HttpResponses.Encoding encoding) {
+            return encoding == HttpResponses.Encoding.IDENTITY
+                ? etag
+                : etag.substring(0, etag.length() - 1) + encoding.getETagSuffix() + "\"";
+        }
+        
+        /**
+         * Array compartilhado: não deve ser modificado
+         */
+        public byte[] getBody() {
+            return body;
+        }
+        
+        /**
+         * Corpo na codificação informada, comprimido só na primeira vez que é pedido
+         */
+        public byte[] getBody(HttpResponses.Encoding encoding) {
+            switch (encoding) {
+                case GZIP:
+                    byte[] gzipped = gzip;
+                    if (gzipped == null) {
+                        synchronized (this) {
+                            if (gzip == null) {
+                                gzip = HttpResponses.compress(body, encoding);
+                            }
+                            gzipped = gzip;
+                        }
+                    }
+                    return gzipped;
+                case DEFLATE:
+                    byte[] deflated = deflate;
+                    if (deflated == null) {
+                        synchronized (this) {
+                            if (deflate == null) {
+                                deflate = HttpResponses.compress(body, encoding);
+                            }
+                            deflated = deflate;
+                        }
+                    }
+                    return deflated;
+                default:
+                    return body;
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.repository.HealthSnapshotListener;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler HTTP para o endpoint /api/health/stream (Server-Sent Events).
+ * Ao conectar o cliente recebe um evento "snapshot" com o mesmo conteúdo de /api/health;
+ * depois só recebe eventos "service" dos serviços cujo estado mudou e eventos "summary"
+ * periódicos. Cada evento é serializado uma única vez e compartilhado entre os clientes.
+ */
+public class HealthStreamHandler implements HttpHandler, HealthSnapshotListener {
+    private static final long FLUSH_INTERVAL_MS = 250;
+    private static final long SUMMARY_INTERVAL_MS = 15000;
+    private static final int MAX_PENDING_EVENTS = 256;
+    private static final byte[] RETRY = "retry: 3000\n\n".getBytes(StandardCharsets.UTF_8);
+    
+    private final GetHealthSnapshotUseCase getHealthSnapshotUseCase;
+    private final HealthSnapshotCache snapshotCache;
+    private final Executor writers;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Map<String, HealthCheckResult> changed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService broadcaster;
+    private volatile boolean servicesChanged;
+    private long lastSummary;
+    
+    public HealthStreamHandler(GetHealthSnapshotUseCase getHealthSnapshotUseCase,
+                               HealthSnapshotCache snapshotCache,
+                               Executor writers) {
+        this.getHealthSnapshotUseCase = getHealthSnapshotUseCase;
+        this.snapshotCache = snapshotCache;
+        this.writers = writers;
+        this.broadcaster = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sse-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Passa a receber as mudanças do snapshot e a enviar os eventos; chamar depois de construído
+     */
+    public void start() {
+        getHealthSnapshotUseCase.subscribe(this);
+        broadcaster.scheduleWithFixedDelay(this::broadcast, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.sendResponseHeaders(200, 0);
+        
+        // Registra antes de montar o snapshot: mudanças gravadas no meio do caminho chegam
+        // como eventos "service" logo depois, nunca se perdem
+        Client client = new Client(exchange);
+        clients.add(client);
+        client.send(RETRY);
+        client.send(snapshotEvent());
+        // A thread do servidor é liberada; a conexão segue aberta até o cliente sair
+    }
+    
+    @Override
+    public void onResultChanged(HealthCheckResult result) {
+        if (!clients.isEmpty()) {
+            changed.put(result.getServiceName(), result);
+        }
+    }
+    
+    @Override
+    public void onServicesChanged() {
+        servicesChanged = true;
+    }
+    
+    public int getClientCount() {
+        return clients.size();
+    }
+    
+    /**
+     * Encerra as conexões abertas e o agendamento dos eventos
+     */
+    public void stop() {
+        broadcaster.shutdownNow();
+        for (Client client : clients) {
+            client.close();
+        }
+    }
+    
+    /**
+     * Executado periodicamente na thread sse-broadcaster: junta as mudanças acumuladas
+     * desde a última passada e as distribui
+     */
+    private void broadcast() {
+        try {
+            if (clients.isEmpty()) {
+                changed.clear();
+                servicesChanged = false;
+                return;
+            }
+            
+            long now = System.currentTimeMillis();
+            if (servicesChanged) {
+                // Serviços incluídos ou removidos: o cliente reconstrói a tela a partir do snapshot
+                servicesChanged = false;
+                changed.clear();
+                sendToAll(snapshotEvent());
+                lastSummary = now;
+                return;
+            }
+            
+            boolean any = false;
+            Iterator<Map.Entry<String, HealthCheckResult>> it = changed.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, HealthCheckResult> entry = it.next();
+                it.remove();
+                sendToAll(serviceEvent(entry.getValue()));
+                any = true;
+            }
+            
+            if (any || now - lastSummary >= SUMMARY_INTERVAL_MS) {
+                // O resumo periódico também serve de keep-alive e detecta conexões encerradas
+                sendToAll(summaryEvent());
+                lastSummary = now;
+            }
+        } catch (Exception e) {
+            System.err.println("Erro ao enviar eventos: " + e.getMessage());
+        }
+    }
+    
+    private void sendToAll(byte[] event) {
+        for (Client client : clients) {
+            client.send(event);
+        }
+    }
+    
+    private byte[] snapshotEvent() throws IOException {
+        // Reaproveita o JSON já serializado para /api/health
+        byte[] body = snapshotCache.get().getBody();
+        ByteArrayOutputStream out = eventStart("snapshot");
+        out.write(body, 0, body.length);
+        return eventEnd(out);
+    }
+    
+    private byte[] serviceEvent(HealthCheckResult result) throws IOException {
+        ByteArrayOutputStream out = eventStart("service");
+        JsonWriter json = new JsonWriter(out);
+        HealthHandler.toServiceJson(HealthCheckResponse.ServiceHealthDto.from(result), json);
+        json.flush();
+        return eventEnd(out);
+    }
+    
+    private byte[] summaryEvent() throws IOException {
+        // Contagem mantida pelo snapshot: não copia nem percorre os resultados
+        ByteArrayOutputStream out = eventStart("summary");
+        JsonWriter json = new JsonWriter(out);
+        HealthHandler.toSummaryJson(HealthCheckResponse.SummaryDto.from(getHealthSnapshotUseCase.getCounts()), json);
+        json.flush();
+        return eventEnd(out);
+    }
+    
+    private ByteArrayOutputStream eventStart(String event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        byte[] header = ("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+        out.write(header, 0, header.length);
+        return out;
+    }
+    
+    private byte[] eventEnd(ByteArrayOutputStream out) {
+        // O JSON gerado não contém quebras de linha, então cabe numa única linha "data:"
+        out.write('\n');
+        out.write('\n');
+        return out.toByteArray();
+    }
+    
+    /**
+     * Conexão SSE aberta. As escritas acontecem no executor do servidor, uma por vez por
+     * cliente; um cliente lento que acumula eventos demais é desconectado para não reter memória.
+     */
+    private class Client {
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        private boolean writing;
+        private boolean closed;
+        
+        Client(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.out = exchange.getResponseBody();
+        }
+        
+        void send(byte[] event) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflow = pending.size() >= MAX_PENDING_EVENTS;
+                if (!overflow) {
+                    pending.add(event);
+                    if (writing) {
+                        return;
+                    }
+                    writing = true;
+                }
+            }
+            if (overflow) {
+                close();
+                return;
+            }
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+        
+        private void drain() {
+            while (true) {
+                byte[] event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null || closed) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    out.write(event);
+                    out.flush();
+                } catch (IOException e) {
+                    // Cliente desconectou
+                    close();
+                    return;
+                }
+            }
+        }
+        
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            if (clients.remove(this)) {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthCounts;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler HTTP para o endpoint /api/health/summary?status=...
+ * Resumo geral e por categoria a partir das contagens mantidas pelo snapshot; com status
+ * (um ou mais, separados por vírgula, ex.: unhealthy,error) inclui só os serviços nesses
+ * status. O custo depende do número de categorias e de serviços listados, não do total.
+ */
+public class HealthSummaryHandler implements HttpHandler {
+    private final GetHealthSnapshotUseCase getHealthSnapshotUseCase;
+    
+    public HealthSummaryHandler(GetHealthSnapshotUseCase getHealthSnapshotUseCase) {
+        this.getHealthSnapshotUseCase = getHealthSnapshotUseCase;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        String statusParam = QueryParams.parse(exchange.getRequestURI()).get("status");
+        List<HealthStatus> statuses = new ArrayList<>();
+        if (statusParam != null && !statusParam.isEmpty()) {
+            for (String value : statusParam.split(",")) {
+                HealthStatus status = HealthStatus.fromValue(value.trim());
+                if (status == null) {
+                    HttpResponses.send(exchange, 400, "application/json", "{\"error\":\"Status inválido\"}");
+                    return;
+                }
+                if (!statuses.contains(status)) {
+                    statuses.add(status);
+                }
+            }
+        }
+        
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        try (JsonWriter json = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            json.beginObject();
+            json.name("summary");
+            HealthHandler.toSummaryJson(HealthCheckResponse.SummaryDto.from(getHealthSnapshotUseCase.getCounts()), json);
+            
+            json.name("categories").beginObject();
+            for (Map.Entry<String, HealthCounts> entry : getHealthSnapshotUseCase.getCategoryCounts().entrySet()) {
+                json.name(entry.getKey());
+                toCountsJson(entry.getValue(), json);
+            }
+            json.endObject();
+            
+            if (!statuses.isEmpty()) {
+                json.name("services").beginArray();
+                for (HealthStatus status : statuses) {
+                    for (HealthCheckResult result : getHealthSnapshotUseCase.getByStatus(status)) {
+                        HealthHandler.toServiceJson(HealthCheckResponse.ServiceHealthDto.from(result), json);
+                    }
+                }
+                json.endArray();
+            }
+            json.endObject();
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private static void toCountsJson(HealthCounts counts, JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("total").value(counts.getTotal());
+        json.name("healthy").value(counts.getHealthy());
+        json.name("unhealthy").value(counts.getUnhealthy());
+        json.name("errors").value(counts.getErrors());
+        if (counts.getPending() > 0) {
+            json.name("pending").value(counts.getPending());
+        }
+        json.endObject();
+    }
+}
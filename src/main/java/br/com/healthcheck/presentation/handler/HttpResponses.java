@@ -0,0 +1,178 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.infrastructure.config.ServerSettings;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escrita de respostas compartilhada pelos handlers, com compressão negociada pelo
+ * Accept-Encoding (gzip ou deflate). Corpos menores que healthcheck.http.compressMinBytes
+ * vão sem compressão; respostas em streaming são comprimidas sempre que o cliente aceita.
+ */
+public final class HttpResponses {
+    private static final int MIN_COMPRESS_BYTES = ServerSettings.getCompressionMinBytes();
+    
+    /**
+     * Codificação do corpo, com o sufixo usado para diferenciar o ETag de cada representação
+     */
+    public enum Encoding {
+        IDENTITY(null, ""),
+        GZIP("gzip", "-gzip"),
+        DEFLATE("deflate", "-deflate");
+        
+        private final String token;
+        private final String etagSuffix;
+        
+        Encoding(String token, String etagSuffix) {
+            this.token = token;
+            this.etagSuffix = etagSuffix;
+        }
+        
+        public String getToken() {
+            return token;
+        }
+        
+        public String getETagSuffix() {
+            return etagSuffix;
+        }
+    }
+    
+    private HttpResponses() {
+    }
+    
+    public static void send(HttpExchange exchange, int statusCode,
+                            String contentType, String response) throws IOException {
+        send(exchange, statusCode, contentType, response.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Envia o corpo com tamanho fixo, comprimido se o cliente aceitar e passar do limite
+     */
+    public static void send(HttpExchange exchange, int statusCode,
+                            String contentType, byte[] body) throws IOException {
+        Encoding encoding = shouldCompress(body.length) ? negotiate(exchange) : Encoding.IDENTITY;
+        sendEncoded(exchange, statusCode, contentType,
+            encoding == Encoding.IDENTITY ? body : compress(body, encoding), encoding);
+    }
+    
+    /**
+     * Envia um corpo já codificado em encoding (ex.: variante comprimida mantida em cache)
+     */
+    public static void sendEncoded(HttpExchange exchange, int statusCode, String contentType,
+                                   byte[] body, Encoding encoding) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        if (encoding != Encoding.IDENTITY) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.token);
+        }
+        if (encoding != Encoding.IDENTITY || shouldCompress(body.length)) {
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        exchange.close();
+    }
+    
+    /**
+     * Envia os cabeçalhos (chunked) e devolve o corpo, já comprimido se o cliente aceitar.
+     * Quem chama deve fechar o stream e depois o exchange.
+     */
+    public static OutputStream openStream(HttpExchange exchange, int statusCode,
+                                          String contentType) throws IOException {
+        Encoding encoding = negotiate(exchange);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (encoding != Encoding.IDENTITY) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.token);
+        }
+        exchange.sendResponseHeaders(statusCode, 0);
+        return wrap(exchange.getResponseBody(), encoding);
+    }
+    
+    public static boolean shouldCompress(int length) {
+        return length >= MIN_COMPRESS_BYTES;
+    }
+    
+    /**
+     * Melhor codificação aceita pelo cliente; gzip ganha de deflate no empate
+     */
+    public static Encoding negotiate(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return Encoding.IDENTITY;
+        }
+        double gzip = quality(acceptEncoding, "gzip");
+        double deflate = quality(acceptEncoding, "deflate");
+        if (gzip <= 0 && deflate <= 0) {
+            return Encoding.IDENTITY;
+        }
+        return gzip >= deflate ? Encoding.GZIP : Encoding.DEFLATE;
+    }
+    
+    public static boolean accepts(HttpExchange exchange, Encoding encoding) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return encoding == Encoding.IDENTITY
+            || (acceptEncoding != null && quality(acceptEncoding, encoding.token) > 0);
+    }
+    
+    public static byte[] compress(byte[] body, Encoding encoding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (OutputStream compressed = wrap(out, encoding)) {
+            compressed.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private static OutputStream wrap(OutputStream out, Encoding encoding) throws IOException {
+        switch (encoding) {
+            case GZIP:
+                return new GZIPOutputStream(out, 8192);
+            case DEFLATE:
+                // "deflate" no HTTP é o formato zlib, que é o padrão do DeflaterOutputStream
+                return new DeflaterOutputStream(out);
+            default:
+                return out;
+        }
+    }
+    
+    /**
+     * Valor q de uma codificação no Accept-Encoding (0 se ausente ou recusada)
+     */
+    private static double quality(String acceptEncoding, String coding) {
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim();
+            double q = 1;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(coding)) {
+                return q;
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard;
+    }
+}
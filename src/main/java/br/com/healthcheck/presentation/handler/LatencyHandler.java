@@ -0,0 +1,68 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.LatencySummary;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.infrastructure.util.QueryParams;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Handler HTTP para o endpoint /api/latency?window=...
+ * Percentis (p50, p90, p99, máximo) de cada serviço e categoria, em ms, numa janela de
+ * 1 minuto até a maior suportada (arredondada para minutos inteiros). Padrão: 5m.
+ */
+public class LatencyHandler implements HttpHandler {
+    private final GetLatencyUseCase getLatencyUseCase;
+    
+    public LatencyHandler(GetLatencyUseCase getLatencyUseCase) {
+        this.getLatencyUseCase = getLatencyUseCase;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        String window = QueryParams.parse(exchange.getRequestURI()).get("window");
+        int windowMinutes = GetLatencyUseCase.DEFAULT_WINDOW_MINUTES;
+        if (window != null && !window.isEmpty()) {
+            long windowMs = HealthHistoryHandler.parseWindow(window);
+            if (windowMs <= 0 || windowMs > getLatencyUseCase.getMaxWindowMinutes() * 60_000L) {
+                HttpResponses.send(exchange, 400, "application/json",
+                    "{\"error\":\"Janela inválida (máximo " + getLatencyUseCase.getMaxWindowMinutes() + "m)\"}");
+                return;
+            }
+            windowMinutes = (int) ((windowMs + 59_999L) / 60_000L);
+        }
+        
+        GetLatencyUseCase.LatencyReport report = getLatencyUseCase.execute(windowMinutes);
+        try (JsonWriter json = new JsonWriter(
+                HttpResponses.openStream(exchange, 200, "application/json; charset=utf-8"))) {
+            json.beginObject();
+            json.name("window").value(report.getWindowMinutes() * 60L);
+            json.name("services");
+            toJson(report.getServices(), json);
+            json.name("categories");
+            toJson(report.getCategories(), json);
+            json.endObject();
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void toJson(Map<String, LatencySummary> summaries, JsonWriter json) throws IOException {
+        json.beginObject();
+        for (Map.Entry<String, LatencySummary> entry : new TreeMap<>(summaries).entrySet()) {
+            json.name(entry.getKey());
+            HealthHandler.toLatencyJson(HealthCheckResponse.LatencyDto.from(entry.getValue()), json);
+        }
+        json.endObject();
+    }
+}
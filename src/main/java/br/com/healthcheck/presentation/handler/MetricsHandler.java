@@ -0,0 +1,45 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.infrastructure.metrics.ExpositionWriter;
+import br.com.healthcheck.infrastructure.metrics.MetricsSource;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Handler HTTP para o endpoint /metrics (formato texto do Prometheus)
+ * As coletas são serializadas num único buffer reaproveitado entre requisições.
+ */
+public class MetricsHandler implements HttpHandler {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private final MetricsSource[] sources;
+    private final ExpositionWriter writer = new ExpositionWriter();
+    
+    public MetricsHandler(List<MetricsSource> sources) {
+        this.sources = sources.toArray(new MetricsSource[0]);
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "text/plain; charset=utf-8", "Method not allowed");
+            return;
+        }
+        
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        synchronized (writer) {
+            writer.reset();
+            for (MetricsSource source : sources) {
+                source.writeTo(writer);
+            }
+            exchange.sendResponseHeaders(200, writer.size());
+            try (OutputStream os = exchange.getResponseBody()) {
+                writer.writeTo(os);
+            }
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.domain.entity.HostCircuit;
+import br.com.healthcheck.domain.executor.ProbeExecutor;
+import br.com.healthcheck.domain.repository.HostCircuitRepository;
+import br.com.healthcheck.infrastructure.util.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Handler HTTP para o endpoint /api/probes (estado do executor de verificações
+ * e dos circuit breakers por host)
+ */
+public class ProbeStatusHandler implements HttpHandler {
+    private final ProbeExecutor probeExecutor;
+    private final HostCircuitRepository circuitRepository;
+    
+    public ProbeStatusHandler(ProbeExecutor probeExecutor, HostCircuitRepository circuitRepository) {
+        this.probeExecutor = probeExecutor;
+        this.circuitRepository = circuitRepository;
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            HttpResponses.send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        JsonParser.JsonObject json = new JsonParser.JsonObject();
+        json.put("activeProbes", probeExecutor.getActiveProbes());
+        json.put("queueDepth", probeExecutor.getQueueDepth());
+        
+        JsonParser.JsonArray circuits = new JsonParser.JsonArray();
+        int open = 0;
+        for (HostCircuit circuit : circuitRepository.getCircuits()) {
+            if (!HostCircuit.CLOSED.equals(circuit.getState())) {
+                open++;
+            }
+            JsonParser.JsonObject circuitJson = new JsonParser.JsonObject();
+            circuitJson.put("host", circuit.getHost());
+            circuitJson.put("state", circuit.getState());
+            circuitJson.put("consecutiveFailures", circuit.getConsecutiveFailures());
+            if (circuit.getOpenedAt() > 0) {
+                circuitJson.put("openedAt", Instant.ofEpochMilli(circuit.getOpenedAt()).toString());
+                circuitJson.put("nextAttemptAt", Instant.ofEpochMilli(circuit.getNextAttemptAt()).toString());
+            }
+            circuitJson.put("shortCircuited", circuit.getShortCircuited());
+            circuits.add(circuitJson);
+        }
+        json.put("openCircuits", open);
+        json.put("circuits", circuits);
+        HttpResponses.send(exchange, 200, "application/json; charset=utf-8", json.toJsonString());
+    }
+}
@@ -2,68 +2,219 @@ package br.com.healthcheck.presentation.handler;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
 
 /**
  * Handler HTTP para servir arquivos estáticos
+ *
+ * Cada arquivo é lido uma vez e mantido em memória, junto com a versão gzip (quando menor),
+ * ETag forte e Last-Modified. A data e o tamanho do arquivo são conferidos no máximo uma vez
+ * por segundo; se mudarem, o arquivo é recarregado. Requisições condicionais recebem 304.
  */
 public class StaticFileHandler implements HttpHandler {
     private static final String PUBLIC_DIR = "public";
+    private static final long REVALIDATE_MS = 1000L;
+    private static final int MIN_GZIP_BYTES = 512;
+    
+    private final Path root = Paths.get(PUBLIC_DIR).toAbsolutePath().normalize();
+    private final Map<Path, Asset> assets = new ConcurrentHashMap<>();
     
     @Override
     public void handle(HttpExchange exchange) throws IOException {
-        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            HttpResponses.send(exchange, 405, "text/plain; charset=utf-8", "Method not allowed");
+            return;
+        }
         
-        // Normalizar caminho
-        if (path.equals("/") || path.equals("/index.html")) {
-            path = PUBLIC_DIR + "/index.html";
-        } else {
-            // Remover barra inicial
-            if (path.startsWith("/")) {
-                path = path.substring(1);
-            }
-            
-            // Se não começar com public/, adicionar
-            if (!path.startsWith(PUBLIC_DIR + "/")) {
-                path = PUBLIC_DIR + "/" + path;
-            }
+        Path file = resolve(exchange.getRequestURI().getPath());
+        Asset asset = file != null ? load(file) : null;
+        if (asset == null) {
+            HttpResponses.send(exchange, 404, "text/plain; charset=utf-8",
+                "Arquivo não encontrado: " + exchange.getRequestURI().getPath());
+            return;
         }
         
-        File file = new File(path);
+        boolean gzip = asset.gzip != null && HttpResponses.accepts(exchange, HttpResponses.Encoding.GZIP);
+        String etag = gzip ? asset.gzipETag : asset.etag;
+        
+        exchange.getResponseHeaders().set("Content-Type", asset.contentType);
+        exchange.getResponseHeaders().set("Cache-Control", asset.cacheControl);
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Last-Modified", asset.lastModifiedHeader);
+        if (asset.gzip != null) {
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        }
         
-        if (!file.exists() || file.isDirectory()) {
-            sendResponse(exchange, 404, "text/plain; charset=utf-8", "Arquivo não encontrado: " + path);
+        if (notModified(exchange, asset, etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
             return;
         }
         
-        String contentType = getContentType(file.getName());
-        byte[] fileContent = Files.readAllBytes(file.toPath());
+        byte[] body = gzip ? asset.gzip : asset.body;
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        if (method.equals("HEAD")) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        exchange.close();
+    }
+    
+    /**
+     * Converte o caminho da URL num arquivo dentro de public/; null se escapar do diretório
+     */
+    private Path resolve(String path) {
+        if (path == null || path.equals("/") || path.isEmpty()) {
+            path = "/index.html";
+        }
+        // Aceita também /public/arquivo, como antes
+        if (path.startsWith("/" + PUBLIC_DIR + "/")) {
+            path = path.substring(PUBLIC_DIR.length() + 1);
+        }
+        if (path.indexOf('\0') >= 0) {
+            return null;
+        }
+        Path file = root.resolve(path.substring(1)).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+    
+    /**
+     * Arquivo em memória, recarregado se a data ou o tamanho mudaram; null se não existir
+     */
+    private Asset load(Path file) throws IOException {
+        Asset cached = assets.get(file);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.checkedAt < REVALIDATE_MS) {
+            return cached;
+        }
+        
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            assets.remove(file);
+            return null;
+        }
+        if (attributes.isDirectory()) {
+            return null;
+        }
+        
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (cached != null && cached.lastModified == lastModified && cached.size == attributes.size()) {
+            cached.checkedAt = now;
+            return cached;
+        }
+        
+        Asset asset = new Asset(file, Files.readAllBytes(file), lastModified, attributes.size(), now);
+        assets.put(file, asset);
+        return asset;
+    }
+    
+    private static boolean notModified(HttpExchange exchange, Asset asset, String etag) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
         
-        sendResponse(exchange, 200, contentType, new String(fileContent, StandardCharsets.UTF_8));
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+                return asset.lastModified / 1000 <= since / 1000;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
     }
     
-    private String getContentType(String filename) {
+    private static String getContentType(String filename) {
         if (filename.endsWith(".html")) return "text/html; charset=utf-8";
         if (filename.endsWith(".css")) return "text/css; charset=utf-8";
         if (filename.endsWith(".js")) return "application/javascript; charset=utf-8";
         if (filename.endsWith(".json")) return "application/json; charset=utf-8";
+        if (filename.endsWith(".svg")) return "image/svg+xml";
+        if (filename.endsWith(".png")) return "image/png";
+        if (filename.endsWith(".ico")) return "image/x-icon";
         return "application/octet-stream";
     }
     
-    private void sendResponse(HttpExchange exchange, int statusCode, 
-                             String contentType, String response) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", contentType);
-        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
-        exchange.sendResponseHeaders(statusCode, responseBytes.length);
+    /**
+     * Conteúdo de um arquivo e seus cabeçalhos, calculados no carregamento
+     */
+    private static class Asset {
+        private final byte[] body;
+        private final byte[] gzip; // null se não compensar
+        private final String contentType;
+        private final String cacheControl;
+        private final String etag;
+        private final String gzipETag;
+        private final long lastModified;
+        private final String lastModifiedHeader;
+        private final long size;
+        private volatile long checkedAt;
         
-        try (java.io.OutputStream os = exchange.getResponseBody()) {
-            os.write(responseBytes);
+        Asset(Path file, byte[] body, long lastModified, long size, long checkedAt) {
+            String name = file.getFileName().toString();
+            this.body = body;
+            this.contentType = getContentType(name);
+            // HTML sempre revalida; os demais podem ser reaproveitados por alguns minutos
+            this.cacheControl = name.endsWith(".html") ? "no-cache" : "public, max-age=300";
+            this.lastModified = lastModified;
+            this.size = size;
+            this.checkedAt = checkedAt;
+            this.lastModifiedHeader = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Instant.ofEpochMilli(lastModified).atOffset(ZoneOffset.UTC));
+            
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            String hash = Long.toHexString(crc.getValue()) + "-" + Long.toHexString(body.length);
+            this.etag = "\"" + hash + "\"";
+            this.gzipETag = "\"" + hash + "-gz\"";
+            this.gzip = compressible(contentType) && body.length >= MIN_GZIP_BYTES ? gzip(body) : null;
+        }
+        
+        private static boolean compressible(String contentType) {
+            return contentType.startsWith("text/") || contentType.startsWith("application/javascript")
+                || contentType.startsWith("application/json") || contentType.startsWith("image/svg");
+        }
+        
+        private static byte[] gzip(byte[] body) {
+            byte[] compressed = HttpResponses.compress(body, HttpResponses.Encoding.GZIP);
+            return compressed.length < body.length ? compressed : null;
         }
-        exchange.close();
     }
 }
-
@@ -0,0 +1,99 @@
+package br.com.healthcheck.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Medição simples para os benchmarks (sem JMH): aquece, depois repete a operação por um
+ * tempo fixo e informa tempo e bytes alocados por operação na thread que mediu.
+ * Os números servem para comparar variantes na mesma JVM, não como valores absolutos.
+ */
+public final class Bench {
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    /**
+     * Evita que o JIT elimine o resultado das operações medidas
+     */
+    public static volatile Object sink;
+    
+    private Bench() {
+    }
+    
+    /**
+     * Operação medida; o retorno vai para sink
+     */
+    public interface Op {
+        Object run() throws Exception;
+    }
+    
+    public static final class Result {
+        public final String name;
+        public final long ops;
+        public final double msPerOp;
+        public final double bytesPerOp;
+        
+        Result(String name, long ops, double msPerOp, double bytesPerOp) {
+            this.name = name;
+            this.ops = ops;
+            this.msPerOp = msPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %10.4f ms/op %14s/op  (%d ops)",
+                name, msPerOp, bytes(bytesPerOp), ops);
+        }
+    }
+    
+    public static Result measure(String name, long warmupMs, long measureMs, Op op) throws Exception {
+        long end = System.nanoTime() + warmupMs * 1_000_000L;
+        while (System.nanoTime() < end) {
+            sink = op.run();
+        }
+        
+        long ops = 0;
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        end = start + measureMs * 1_000_000L;
+        long now;
+        do {
+            sink = op.run();
+            ops++;
+        } while ((now = System.nanoTime()) < end);
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        
+        Result result = new Result(name, ops, (now - start) / 1e6 / ops, (double) allocated / ops);
+        System.out.println(result);
+        return result;
+    }
+    
+    /**
+     * Heap em uso depois de forçar coletas (para medir o tamanho de estruturas mantidas)
+     */
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+    
+    public static String bytes(double bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.2f MiB", bytes / (1024 * 1024));
+        }
+        if (bytes >= 1024) {
+            return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024);
+        }
+        return String.format(Locale.ROOT, "%.0f B", bytes);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.bench.Bench;
+import br.com.healthcheck.domain.entity.HealthHistory;
+import java.util.Locale;
+
+/**
+ * Heap ocupado pelo histórico em memória: 2.000 serviços com 24h de verificações a cada 10s
+ * (8.640 intervalos por serviço), medido com o heap antes e depois de encher os buffers.
+ * Também confere o erro máximo do tempo de resposta quantizado.
+ *
+ * Uso: java ... br.com.healthcheck.data.repository.HistoryMemoryBenchmark [serviços] [intervalos]
+ */
+public class HistoryMemoryBenchmark {
+    
+    public static void main(String[] args) {
+        int services = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 8640;
+        int slotSeconds = 10;
+        
+        long before = Bench.usedHeap();
+        RingBufferHealthHistoryRepository history = new RingBufferHealthHistoryRepository(capacity, slotSeconds);
+        long start = System.currentTimeMillis() - capacity * slotSeconds * 1000L;
+        for (int s = 0; s < services; s++) {
+            String name = "servico-" + s;
+            for (int i = 0; i < capacity; i++) {
+                int code = i % 97 == 0 ? 503 : 200;
+                byte status = code == 200 ? HealthHistory.STATUS_HEALTHY : HealthHistory.STATUS_UNHEALTHY;
+                history.append(name, start + i * slotSeconds * 1000L, 20 + (i * 37 + s) % 2000, code, status);
+            }
+        }
+        long after = Bench.usedHeap();
+        
+        HealthHistory sample = history.query("servico-0", 0);
+        long used = after - before;
+        System.out.println(String.format(Locale.ROOT, "%d serviços x %d intervalos (%d amostras no servico-0)",
+            services, capacity, sample.size()));
+        System.out.println(String.format(Locale.ROOT, "heap do histórico: %s (%.2f bytes/intervalo)",
+            Bench.bytes(used), (double) used / ((long) services * capacity)));
+        
+        double maxError = 0;
+        for (long latency = 1; latency < 2_000_000; latency++) {
+            int decoded = RingBufferHealthHistoryRepository.decodeLatency(
+                RingBufferHealthHistoryRepository.encodeLatency(latency));
+            maxError = Math.max(maxError, Math.abs(decoded - latency) / (double) latency);
+        }
+        System.out.println(String.format(Locale.ROOT, "erro máximo do tempo de resposta (1 ms a 2.000 s): %.2f%%",
+            maxError * 100));
+        Bench.sink = history;
+    }
+}
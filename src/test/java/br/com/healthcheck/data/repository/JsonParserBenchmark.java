@@ -0,0 +1,146 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.bench.Bench;
+import br.com.healthcheck.domain.entity.Component;
+import br.com.healthcheck.infrastructure.util.JsonParser;
+import br.com.healthcheck.infrastructure.util.LegacyJsonParser;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura de corpos do actuator de ~1 KB, ~100 KB e ~5 MB com três leitores:
+ * o parser antigo (LegacyJsonParser, sobre a String do corpo), a árvore do JsonParser atual
+ * (sobre o JsonReader) e a extração em streaming do ActuatorHealthParser, que é o caminho
+ * usado pelas verificações (direto do InputStream, sem limite de bytes aqui).
+ *
+ * Uso: java ... br.com.healthcheck.data.repository.JsonParserBenchmark [ms de medição por caso]
+ */
+public class JsonParserBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        long measureMs = args.length > 0 ? Long.parseLong(args[0]) : 3000;
+        int[] sizes = {1024, 100 * 1024, 5 * 1024 * 1024};
+        for (int size : sizes) {
+            byte[] body = actuatorBody(size);
+            System.out.println("== corpo de " + Bench.bytes(body.length));
+            checkSameResult(body);
+            Bench.measure("LegacyJsonParser (String)", measureMs / 2, measureMs,
+                () -> LegacyJsonParser.JsonObject.parse(new String(body, StandardCharsets.UTF_8)));
+            Bench.measure("JsonParser/JsonReader (String)", measureMs / 2, measureMs,
+                () -> JsonParser.JsonObject.parse(new String(body, StandardCharsets.UTF_8)));
+            Bench.measure("ActuatorHealthParser (InputStream)", measureMs / 2, measureMs,
+                () -> ActuatorHealthParser.parseBody(new ByteArrayInputStream(body), Integer.MAX_VALUE));
+        }
+    }
+    
+    /**
+     * Corpo no formato do Spring Boot Actuator com componentes aninhados, details volumosos,
+     * escapes e caracteres unicode, até aproximadamente targetBytes
+     */
+    static byte[] actuatorBody(int targetBytes) {
+        StringBuilder json = new StringBuilder(targetBytes + 1024);
+        json.append("{\"status\":\"UP\",\"components\":{");
+        json.append("\"db\":{\"status\":\"UP\",\"details\":{\"database\":\"PostgreSQL\",\"validationQuery\":\"isValid()\"}},");
+        json.append("\"diskSpace\":{\"status\":\"UP\",\"details\":{\"total\":499963174912,\"free\":91300069376,")
+            .append("\"threshold\":10485760,\"path\":\"C:\\\\dados\\\\app\",\"exists\":true}}");
+        int i = 0;
+        while (json.length() < targetBytes - 200) {
+            json.append(",\"servico-").append(i).append("\":{\"status\":\"").append(i % 17 == 0 ? "DOWN" : "UP")
+                .append("\",\"components\":{\"cache\":{\"status\":\"UP\",\"details\":{")
+                .append("\"descri\\u00e7\\u00e3o\":\"r\u00e9plica \\\"prim\u00e1ria\\\"\\n\",")
+                .append("\"hits\":").append(i * 31L).append(",\"ratio\":0.").append(i % 100)
+                .append(",\"nodes\":[\"a-").append(i).append("\",\"b-").append(i).append("\",null,true]}}}}");
+            i++;
+        }
+        json.append("}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Os três leitores precisam concordar no status raiz e na lista de componentes (nome com o
+     * caminho dos aninhados e status, na mesma ordem); o parser antigo é a referência
+     */
+    private static void checkSameResult(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        LegacyJsonParser.JsonObject legacy = LegacyJsonParser.JsonObject.parse(text);
+        String expectedStatus = legacy.getString("status");
+        List<Component> expected = new ArrayList<>();
+        legacyComponents((LegacyJsonParser.JsonObject) legacy.get("components"), "", expected);
+        
+        JsonParser.JsonObject tree = JsonParser.JsonObject.parse(text);
+        List<Component> fromTree = new ArrayList<>();
+        treeComponents((JsonParser.JsonObject) tree.get("components"), "", fromTree);
+        compare("JsonParser", expectedStatus, expected, tree.getString("status"), fromTree);
+        
+        ActuatorHealthParser.Body streamed = ActuatorHealthParser.parseBody(new ByteArrayInputStream(body), Integer.MAX_VALUE);
+        compare("ActuatorHealthParser", expectedStatus, expected, streamed.getRootStatus(), streamed.getComponents());
+        System.out.println("status " + expectedStatus + ", " + expected.size() + " componentes iguais nos três leitores");
+    }
+    
+    private static void compare(String reader, String expectedStatus, List<Component> expected,
+                                String status, List<Component> components) {
+        if (expectedStatus == null || !expectedStatus.equals(status)) {
+            throw new IllegalStateException(reader + ": status " + status + ", esperado " + expectedStatus);
+        }
+        if (components == null || !expected.equals(components)) {
+            int size = components == null ? 0 : components.size();
+            for (int i = 0; i < Math.min(size, expected.size()); i++) {
+                if (!expected.get(i).equals(components.get(i))) {
+                    throw new IllegalStateException(reader + ": componente " + i + " " + describe(components.get(i))
+                        + ", esperado " + describe(expected.get(i)));
+                }
+            }
+            throw new IllegalStateException(reader + ": " + size + " componentes, esperado " + expected.size());
+        }
+    }
+    
+    private static String describe(Component component) {
+        return component.getName() + "=" + component.getStatus();
+    }
+    
+    /**
+     * Mesma extração do ActuatorHealthParser (componente antes dos aninhados, nomes com o caminho)
+     * sobre a árvore do parser antigo
+     */
+    private static void legacyComponents(LegacyJsonParser.JsonObject components, String prefix, List<Component> result) {
+        if (components == null) {
+            return;
+        }
+        for (String key : components.keySet()) {
+            if (!(components.get(key) instanceof LegacyJsonParser.JsonObject)) {
+                continue;
+            }
+            LegacyJsonParser.JsonObject component = (LegacyJsonParser.JsonObject) components.get(key);
+            String name = prefix.isEmpty() ? key : prefix + "." + key;
+            String status = component.getString("status");
+            if (status != null && !status.isEmpty()) {
+                result.add(Component.of(name, status));
+            }
+            if (component.get("components") instanceof LegacyJsonParser.JsonObject) {
+                legacyComponents((LegacyJsonParser.JsonObject) component.get("components"), name, result);
+            }
+        }
+    }
+    
+    private static void treeComponents(JsonParser.JsonObject components, String prefix, List<Component> result) {
+        if (components == null) {
+            return;
+        }
+        for (String key : components.keySet()) {
+            if (!(components.get(key) instanceof JsonParser.JsonObject)) {
+                continue;
+            }
+            JsonParser.JsonObject component = (JsonParser.JsonObject) components.get(key);
+            String name = prefix.isEmpty() ? key : prefix + "." + key;
+            String status = component.getString("status");
+            if (status != null && !status.isEmpty()) {
+                result.add(Component.of(name, status));
+            }
+            if (component.get("components") instanceof JsonParser.JsonObject) {
+                treeComponents((JsonParser.JsonObject) component.get("components"), name, result);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthHistory;
+import br.com.healthcheck.domain.entity.Service;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Verificações do PersistentHealthHistoryRepository (sem framework: main termina com status 1 se algo falhar)
+ */
+public class PersistentHealthHistoryRepositoryTest {
+    private static final long T0 = 1_790_000_000_000L; // início de um intervalo de 10s
+    
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("history-test");
+        try {
+            logSamplesUseMemoryShape(directory);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        System.out.println("PersistentHealthHistoryRepositoryTest: ok");
+    }
+    
+    /**
+     * Uma janela maior do que a memória (3 intervalos de 10s) completa o início com o log, no
+     * mesmo formato da memória: um intervalo por amostra, a mais grave, horário de início do
+     * intervalo e tempo de resposta quantizado
+     */
+    private static void logSamplesUseMemoryShape(Path directory) throws IOException {
+        long hash = ProbeSegmentLog.hash("api");
+        try (ProbeSegmentLog log = new ProbeSegmentLog(directory, 4 * ProbeSegmentLog.RECORD_BYTES, 8, 1000)) {
+            log.append(hash, T0 + 1000, 20, 200, HealthHistory.STATUS_HEALTHY);
+            log.append(hash, T0 + 4000, 300, 503, HealthHistory.STATUS_UNHEALTHY);
+            log.append(hash, T0 + 50_000, 30, 200, HealthHistory.STATUS_HEALTHY);
+            log.append(hash, T0 + 61_000, 30, 200, HealthHistory.STATUS_HEALTHY);
+            log.append(hash, T0 + 72_000, 30, 200, HealthHistory.STATUS_HEALTHY);
+            log.append(hash, T0 + 7000, 25, 200, HealthHistory.STATUS_HEALTHY); // concluída depois
+            log.append(hash, T0 + 12_000, 1234, 200, HealthHistory.STATUS_HEALTHY);
+        }
+        
+        RingBufferHealthHistoryRepository memory = new RingBufferHealthHistoryRepository(3, 10);
+        try (PersistentHealthHistoryRepository history =
+                 new PersistentHealthHistoryRepository(memory, directory, 4 * ProbeSegmentLog.RECORD_BYTES, 8, 1000)) {
+            history.restore(List.of(new Service("api", "http://api.interno:8080/actuator/health", "Infra", 200)));
+            
+            HealthHistory all = history.query("api", T0);
+            long[] expected = {T0, T0 + 10_000, T0 + 50_000, T0 + 60_000, T0 + 70_000};
+            check(all.size() == expected.length, "amostras: " + all.size());
+            for (int i = 0; i < expected.length; i++) {
+                check(all.getTimestamp(i) == expected[i], "horário " + i + ": " + all.getTimestamp(i));
+            }
+            check(all.getStatus(0) == HealthHistory.STATUS_UNHEALTHY && all.getStatusCode(0) == 503,
+                "intervalo com várias verificações não ficou com a mais grave");
+            check(all.getResponseTime(0) == quantized(300) && all.getResponseTime(1) == quantized(1234),
+                "tempo de resposta do log não foi quantizado: " + all.getResponseTime(1));
+            
+            HealthHistory unaligned = history.query("api", T0 + 5000);
+            check(unaligned.size() == 4 && unaligned.getTimestamp(0) == T0 + 10_000,
+                "janela no meio de um intervalo: " + unaligned.size() + " amostras");
+        }
+    }
+    
+    private static int quantized(long responseTime) {
+        return RingBufferHealthHistoryRepository.decodeLatency(RingBufferHealthHistoryRepository.encodeLatency(responseTime));
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("PersistentHealthHistoryRepositoryTest: falhou - " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.bench.Bench;
+import br.com.healthcheck.domain.entity.HealthHistory;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Acréscimos no ProbeSegmentLog (registros binários de 32 bytes em segmentos mapeados)
+ * comparados com uma linha JSON por verificação num arquivo com BufferedWriter:
+ * acréscimos por segundo e bytes por registro. Nenhum dos dois faz fsync por registro.
+ *
+ * Uso: java ... br.com.healthcheck.data.repository.ProbeSegmentLogBenchmark [ms de medição]
+ */
+public class ProbeSegmentLogBenchmark {
+    private static final int BATCH = 10_000;
+    private static final int SERVICES = 2000;
+    
+    public static void main(String[] args) throws Exception {
+        long measureMs = args.length > 0 ? Long.parseLong(args[0]) : 5000;
+        String[] names = new String[SERVICES];
+        long[] hashes = new long[SERVICES];
+        for (int i = 0; i < SERVICES; i++) {
+            names[i] = "servico-" + i + "-api";
+            hashes[i] = ProbeSegmentLog.hash(names[i]);
+        }
+        
+        Path directory = Files.createTempDirectory("probe-log-bench");
+        try {
+            long[] sequence = new long[1];
+            try (ProbeSegmentLog log = new ProbeSegmentLog(directory.resolve("log"), 32 * 1024 * 1024, 8, 1000)) {
+                Bench.Result result = Bench.measure("ProbeSegmentLog (" + BATCH + " acréscimos)", measureMs / 2, measureMs,
+                    () -> {
+                        for (int i = 0; i < BATCH; i++) {
+                            long n = sequence[0]++;
+                            int service = (int) (n % SERVICES);
+                            log.append(hashes[service], 1_790_000_000_000L + n, 20 + n % 500,
+                                200, HealthHistory.STATUS_HEALTHY);
+                        }
+                        return null;
+                    });
+                report(result, ProbeSegmentLog.RECORD_BYTES);
+            }
+            
+            Path jsonFile = directory.resolve("probes.jsonl");
+            long[] lines = new long[1];
+            StringBuilder line = new StringBuilder(128);
+            try (Writer writer = new BufferedWriter(Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8), 64 * 1024)) {
+                Bench.Result result = Bench.measure("Linhas JSON (" + BATCH + " acréscimos)", measureMs / 2, measureMs,
+                    () -> {
+                        for (int i = 0; i < BATCH; i++) {
+                            long n = lines[0]++;
+                            line.setLength(0);
+                            line.append("{\"timestamp\":").append(1_790_000_000_000L + n)
+                                .append(",\"service\":\"").append(names[(int) (n % SERVICES)])
+                                .append("\",\"responseTime\":").append(20 + n % 500)
+                                .append(",\"statusCode\":200,\"status\":\"healthy\"}\n");
+                            writer.append(line);
+                        }
+                        return null;
+                    });
+                writer.flush();
+                report(result, (double) Files.size(jsonFile) / lines[0]);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(ProbeSegmentLogBenchmark::delete);
+            }
+        }
+    }
+    
+    private static void report(Bench.Result result, double bytesPerRecord) {
+        System.out.println(String.format(Locale.ROOT, "  %.2f M acréscimos/s, %.1f bytes por registro",
+            BATCH / result.msPerOp / 1000, bytesPerRecord));
+    }
+    
+    private static void delete(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            System.err.println("Não foi possível apagar " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.healthcheck.data.repository;
+
+import br.com.healthcheck.domain.entity.HealthHistory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Verificações do ProbeSegmentLog (sem framework: main termina com status 1 se algo falhar)
+ */
+public class ProbeSegmentLogTest {
+    
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("probe-log-test");
+        try {
+            outOfOrderRecordsAreNotSkipped(directory);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        System.out.println("ProbeSegmentLogTest: ok");
+    }
+    
+    /**
+     * Verificações concluem fora de ordem: um segmento cujo último registro é anterior à janela
+     * ainda pode ter registros dentro dela, tanto com o log aberto quanto depois de reabri-lo
+     */
+    private static void outOfOrderRecordsAreNotSkipped(Path directory) throws IOException {
+        long hash = ProbeSegmentLog.hash("api");
+        // 4 registros por segmento: o primeiro segmento termina com o registro mais antigo
+        try (ProbeSegmentLog log = new ProbeSegmentLog(directory, 4 * ProbeSegmentLog.RECORD_BYTES, 8, 1000)) {
+            for (long timestamp : new long[] {9000, 8000, 7000, 1000, 2000}) {
+                log.append(hash, timestamp, 20, 200, HealthHistory.STATUS_HEALTHY);
+            }
+            log.append(ProbeSegmentLog.hash("outro"), 9500, 20, 200, HealthHistory.STATUS_HEALTHY);
+            checkScan(log, hash, 5000, Long.MAX_VALUE, 3, "aberto, desde 5000");
+            checkScan(log, hash, 0, 7500, 3, "aberto, de 0 a 7500");
+        }
+        try (ProbeSegmentLog log = new ProbeSegmentLog(directory, 4 * ProbeSegmentLog.RECORD_BYTES, 8, 1000)) {
+            checkScan(log, hash, 5000, Long.MAX_VALUE, 3, "reaberto, desde 5000");
+            checkScan(log, hash, 8500, 9000, 0, "reaberto, de 8500 a 9000");
+        }
+    }
+    
+    private static void checkScan(ProbeSegmentLog log, long hash, long since, long until, int expected, String label) {
+        HealthHistory history = log.scan("api", hash, since, until);
+        check(history.size() == expected, label + ": " + history.size() + " registros, esperado " + expected);
+        for (int i = 0; i < history.size(); i++) {
+            long timestamp = history.getTimestamp(i);
+            check(timestamp >= since && timestamp < until, label + ": registro fora da janela em " + timestamp);
+        }
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("ProbeSegmentLogTest: falhou - " + message);
+            System.exit(1);
+        }
+    }
+}
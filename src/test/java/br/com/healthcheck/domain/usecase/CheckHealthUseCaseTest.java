@@ -0,0 +1,202 @@
+package br.com.healthcheck.domain.usecase;
+
+import br.com.healthcheck.data.repository.HistogramLatencyRepository;
+import br.com.healthcheck.data.repository.InMemoryHealthSnapshotRepository;
+import br.com.healthcheck.data.repository.RingBufferHealthHistoryRepository;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.executor.ProbeExecutor;
+import br.com.healthcheck.domain.repository.ConfigRepository;
+import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import br.com.healthcheck.domain.repository.ProbeMetricsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Verificações do CheckHealthUseCase (sem framework: main termina com status 1 se algo falhar)
+ */
+public class CheckHealthUseCaseTest {
+    
+    public static void main(String[] args) throws Exception {
+        rejectedProbeKeepsLastKnownState();
+        unchangedServicesAreNotRetainedAgain();
+        System.out.println("CheckHealthUseCaseTest: ok");
+    }
+    
+    /**
+     * Uma verificação recusada pelo executor não é um resultado do serviço: o snapshot, a versão
+     * e o histórico ficam como estavam, a recusa conta só na métrica e quem chamou recebe o
+     * último estado como "pending"
+     */
+    private static void rejectedProbeKeepsLastKnownState() {
+        Service service = new Service("api", "http://api.interno:8080/actuator/health", "Infra", 200);
+        ConfigRepository config = new ConfigRepository() {
+            @Override
+            public List<Service> getServices() {
+                return List.of(service);
+            }
+            
+            @Override
+            public int getRefreshInterval() {
+                return 30000;
+            }
+            
+            @Override
+            public int getTimeout() {
+                return 1000;
+            }
+            
+            @Override
+            public void saveConfig(List<Service> services, int refreshInterval, int timeout) {
+            }
+        };
+        HealthCheckRepository healthy = (target, timeout) ->
+            HealthCheckResult.checked(target, HealthStatus.HEALTHY, 200, 1_000_000L, "OK", "UP", List.of());
+        RejectingExecutor executor = new RejectingExecutor();
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ProbeMetricsRepository metrics = new ProbeMetricsRepository() {
+            @Override
+            public void record(HealthCheckResult result) {
+                recorded.incrementAndGet();
+            }
+            
+            @Override
+            public void recordRejected(String serviceName) {
+                rejected.incrementAndGet();
+            }
+            
+            @Override
+            public void retain(List<Service> services) {
+            }
+        };
+        InMemoryHealthSnapshotRepository snapshot = new InMemoryHealthSnapshotRepository(100);
+        RingBufferHealthHistoryRepository history = new RingBufferHealthHistoryRepository(100, 10);
+        CheckHealthUseCase useCase = new CheckHealthUseCase(healthy, config, snapshot, history,
+            new HistogramLatencyRepository(), metrics, executor, 0, 3000);
+        useCase.loadServices();
+        
+        useCase.checkService(service, 1000).join();
+        long version = snapshot.getVersion();
+        int samples = history.query("api", 0).size();
+        
+        executor.reject = true;
+        HealthCheckResult result = useCase.checkService(service, 1000).join();
+        check(result.getStatus() == HealthStatus.PENDING, "status devolvido: " + result.getStatus());
+        check(result.getLastStatus() == HealthStatus.HEALTHY, "último status: " + result.getLastStatus());
+        check(snapshot.get("api").getStatus() == HealthStatus.HEALTHY, "snapshot: " + snapshot.get("api").getStatus());
+        check(snapshot.getVersion() == version, "versão mudou: " + version + " -> " + snapshot.getVersion());
+        check(history.query("api", 0).size() == samples, "histórico gravou a recusa");
+        check(recorded.get() == 1 && rejected.get() == 1, "métricas: " + recorded + " resultados, " + rejected + " recusas");
+    }
+    
+    /**
+     * loadServices roda a cada rodada: com a mesma lista de serviços os repositórios não são
+     * percorridos de novo; uma lista diferente (ou igual, mas com um serviço alterado) é aplicada
+     */
+    private static void unchangedServicesAreNotRetainedAgain() {
+        Service api = new Service("api", "http://api.interno:8080/actuator/health", "Infra", 200);
+        List<List<Service>> configured = new ArrayList<>(List.of(List.of(api)));
+        ConfigRepository config = new ConfigRepository() {
+            @Override
+            public List<Service> getServices() {
+                return new ArrayList<>(configured.get(0)); // uma lista nova a cada leitura
+            }
+            
+            @Override
+            public int getRefreshInterval() {
+                return 30000;
+            }
+            
+            @Override
+            public int getTimeout() {
+                return 1000;
+            }
+            
+            @Override
+            public void saveConfig(List<Service> services, int refreshInterval, int timeout) {
+            }
+        };
+        AtomicInteger retained = new AtomicInteger();
+        ProbeMetricsRepository metrics = new ProbeMetricsRepository() {
+            @Override
+            public void record(HealthCheckResult result) {
+            }
+            
+            @Override
+            public void recordRejected(String serviceName) {
+            }
+            
+            @Override
+            public void retain(List<Service> services) {
+                retained.incrementAndGet();
+            }
+        };
+        HealthCheckRepository healthy = (target, timeout) ->
+            HealthCheckResult.checked(target, HealthStatus.HEALTHY, 200, 1_000_000L, "OK", "UP", List.of());
+        CheckHealthUseCase useCase = new CheckHealthUseCase(healthy, config, new InMemoryHealthSnapshotRepository(100),
+            new RingBufferHealthHistoryRepository(100, 10), new HistogramLatencyRepository(), metrics,
+            new RejectingExecutor(), 0, 3000);
+        
+        useCase.loadServices();
+        useCase.loadServices();
+        useCase.loadServices();
+        check(retained.get() == 1, "mesma lista aplicada " + retained + " vezes");
+        
+        configured.set(0, List.of(new Service("api", "http://api.interno:8080/actuator/health", "Pagamentos", 200)));
+        useCase.loadServices();
+        check(retained.get() == 2, "categoria alterada não foi aplicada");
+        
+        configured.set(0, List.of());
+        useCase.loadServices();
+        useCase.loadServices();
+        check(retained.get() == 3, "remoção aplicada " + (retained.get() - 2) + " vezes");
+    }
+    
+    private static class RejectingExecutor implements ProbeExecutor {
+        private volatile boolean reject;
+        
+        @Override
+        public CompletableFuture<HealthCheckResult> submit(Service service, Callable<HealthCheckResult> probe) {
+            if (reject) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Fila de verificações cheia"));
+            }
+            try {
+                return CompletableFuture.completedFuture(probe.call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        
+        @Override
+        public CompletableFuture<HealthCheckResult> submitAsync(Service service,
+                                                                Supplier<CompletableFuture<HealthCheckResult>> probe) {
+            return reject
+                ? CompletableFuture.failedFuture(new RejectedExecutionException("Fila de verificações cheia"))
+                : probe.get();
+        }
+        
+        @Override
+        public int getQueueDepth() {
+            return 0;
+        }
+        
+        @Override
+        public int getActiveProbes() {
+            return 0;
+        }
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("CheckHealthUseCaseTest: falhou - " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.healthcheck.infrastructure.executor;
+
+import br.com.healthcheck.data.repository.CircuitBreakerHealthCheckRepository;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.repository.HealthCheckRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verificações do BoundedProbeExecutor (sem framework: main termina com status 1 se algo falhar)
+ */
+public class BoundedProbeExecutorTest {
+    private static final int MAX_PER_HOST = 8;
+    
+    public static void main(String[] args) throws Exception {
+        shortCircuitedProbesDoNotNestOnTheStack();
+        System.out.println("BoundedProbeExecutorTest: ok");
+    }
+    
+    /**
+     * Milhares de verificações na fila de um host com o circuito aberto: cada uma termina na
+     * hora e libera a próxima. A liberação roda numa thread com pilha pequena; se cada
+     * verificação iniciasse a seguinte dentro da anterior, a pilha estouraria e parte dos
+     * futures e vagas do host ficaria presa.
+     */
+    private static void shortCircuitedProbesDoNotNestOnTheStack() throws Exception {
+        int probes = 5000;
+        List<CompletableFuture<HealthCheckResult>> gates = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        HealthCheckRepository host = new HealthCheckRepository() {
+            @Override
+            public boolean isAsync() {
+                return true;
+            }
+            
+            @Override
+            public HealthCheckResult checkHealth(Service service, int timeout) {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public synchronized CompletableFuture<HealthCheckResult> checkHealthAsync(Service service, int timeout) {
+                calls.incrementAndGet();
+                CompletableFuture<HealthCheckResult> gate = new CompletableFuture<>();
+                gates.add(gate);
+                return gate;
+            }
+        };
+        CircuitBreakerHealthCheckRepository breaker = new CircuitBreakerHealthCheckRepository(host, 1, 60_000, 60_000);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        BoundedProbeExecutor executor = new BoundedProbeExecutor(workers, 64, MAX_PER_HOST, probes * 2);
+        
+        List<CompletableFuture<HealthCheckResult>> futures = new ArrayList<>();
+        for (int i = 0; i < probes; i++) {
+            Service service = new Service("svc-" + i, "http://dead.example:8080/health/" + i, "dead", 200);
+            futures.add(executor.submitAsync(service, () -> breaker.checkHealthAsync(service, 1000)));
+        }
+        check(calls.get() == MAX_PER_HOST, "verificações em andamento: " + calls.get());
+        check(executor.getQueueDepth() == probes - MAX_PER_HOST, "fila: " + executor.getQueueDepth());
+        
+        // A primeira falha abre o circuito; as da fila passam a terminar na hora
+        List<CompletableFuture<HealthCheckResult>> inFlight;
+        synchronized (host) {
+            inFlight = new ArrayList<>(gates);
+        }
+        Throwable[] failure = new Throwable[1];
+        Thread releaser = new Thread(null, () -> {
+            try {
+                for (CompletableFuture<HealthCheckResult> gate : inFlight) {
+                    Service service = new Service("gate", "http://dead.example:8080/", "dead", 200);
+                    gate.complete(HealthCheckResult.error(service, 0, "Erro de conexão", HealthCheckResult.ERROR_CONNECTION));
+                }
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "releaser", 256 * 1024);
+        releaser.start();
+        releaser.join();
+        check(failure[0] == null, "erro ao liberar: " + failure[0]);
+        
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            long stuck = futures.stream().filter(future -> !future.isDone()).count();
+            check(false, stuck + " verificações sem resultado, " + executor.getActiveProbes() + " vagas presas");
+        }
+        int shortCircuited = 0;
+        for (CompletableFuture<HealthCheckResult> future : futures) {
+            if (HealthCheckResult.ERROR_CIRCUIT_OPEN.equals(future.join().getErrorType())) {
+                shortCircuited++;
+            }
+        }
+        check(shortCircuited == probes - MAX_PER_HOST, "curto-circuitadas: " + shortCircuited);
+        check(executor.getActiveProbes() == 0, "vagas presas: " + executor.getActiveProbes());
+        check(executor.getQueueDepth() == 0, "fila restante: " + executor.getQueueDepth());
+        executor.shutdown(0);
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("BoundedProbeExecutorTest: falhou - " + message);
+            System.exit(1);
+        }
+    }
+}
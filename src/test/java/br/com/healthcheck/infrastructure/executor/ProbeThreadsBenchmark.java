@@ -0,0 +1,138 @@
+package br.com.healthcheck.infrastructure.executor;
+
+import br.com.healthcheck.data.repository.HttpHealthCheckRepository;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rodada de verificações bloqueantes (HttpHealthCheckRepository) com 100, 1.000 e 5.000 serviços
+ * simulados contra um stub local que responde depois de 100 ms, com threads de plataforma e
+ * com virtual threads. Mede o tempo da rodada (a terceira, já aquecida) e o RSS do processo
+ * (VmRSS antes das rodadas e o pico VmHWM em /proc/self/status, só Linux).
+ *
+ * Cada caso roda numa JVM separada, para o pico de RSS de um não contaminar o outro.
+ * Virtual threads exigem Java 21+; em JVMs anteriores o modo virtual cai para plataforma.
+ *
+ * Uso: java ... br.com.healthcheck.infrastructure.executor.ProbeThreadsBenchmark
+ *      (ou [platform|virtual] [maxConcurrency] [serviços] para um único caso)
+ */
+public class ProbeThreadsBenchmark {
+    private static final int STUB_DELAY_MS = 100;
+    private static final int ROUNDS = 3;
+    private static final byte[] BODY = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3) {
+            runCase(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        System.out.println(String.format(Locale.ROOT, "%-9s %6s %9s %12s %12s %12s %6s",
+            "modo", "limite", "serviços", "rodada (ms)", "RSS início", "RSS pico", "UP"));
+        for (int services : new int[] {100, 1000, 5000}) {
+            fork(ExecutorFactory.MODE_PLATFORM, 64, services);
+            fork(ExecutorFactory.MODE_PLATFORM, 1024, services);
+            fork(ExecutorFactory.MODE_VIRTUAL, 1024, services);
+            fork(ExecutorFactory.MODE_VIRTUAL, 5000, services);
+        }
+    }
+    
+    private static void fork(String mode, int maxConcurrency, int services) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx512m",
+                "-cp", System.getProperty("java.class.path"),
+                ProbeThreadsBenchmark.class.getName(), mode, String.valueOf(maxConcurrency), String.valueOf(services))
+            .redirectErrorStream(true)
+            .start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                System.out.println(line);
+            }
+        }
+        process.waitFor();
+    }
+    
+    private static void runCase(String mode, int maxConcurrency, int services) throws Exception {
+        ScheduledExecutorService delays = Executors.newScheduledThreadPool(2);
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 8192);
+        stub.createContext("/", exchange -> delays.schedule(() -> respond(exchange), STUB_DELAY_MS, TimeUnit.MILLISECONDS));
+        stub.setExecutor(Executors.newFixedThreadPool(4));
+        stub.start();
+        
+        ExecutorFactory factory = new ExecutorFactory(mode);
+        ExecutorService workers = factory.newProbeWorkers(maxConcurrency);
+        BoundedProbeExecutor executor = new BoundedProbeExecutor(workers, maxConcurrency, services, services);
+        HttpHealthCheckRepository repository = new HttpHealthCheckRepository(64 * 1024);
+        List<Service> targets = new ArrayList<>();
+        for (int i = 0; i < services; i++) {
+            targets.add(new Service("svc-" + i, "http://127.0.0.1:" + stub.getAddress().getPort() + "/health/" + i,
+                "bench", 200));
+        }
+        
+        long rssStart = procStatusKb("VmRSS");
+        long roundMs = 0;
+        int up = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            List<CompletableFuture<HealthCheckResult>> futures = new ArrayList<>();
+            for (Service service : targets) {
+                futures.add(executor.submit(service, () -> repository.checkHealth(service, 10_000)));
+            }
+            up = 0;
+            for (CompletableFuture<HealthCheckResult> future : futures) {
+                if (future.join().getStatus() == HealthStatus.HEALTHY) {
+                    up++;
+                }
+            }
+            roundMs = (System.nanoTime() - start) / 1_000_000;
+        }
+        System.out.println(String.format(Locale.ROOT, "%-9s %6d %9d %12d %9d MB %9d MB %6d",
+            factory.getMode(), maxConcurrency, services, roundMs,
+            rssStart / 1024, procStatusKb("VmHWM") / 1024, up));
+        
+        executor.shutdown(0);
+        stub.stop(0);
+        System.exit(0);
+    }
+    
+    private static void respond(HttpExchange exchange) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+    
+    private static long procStatusKb(String field) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+            if (line.startsWith(field + ":")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.bench.Bench;
+import br.com.healthcheck.domain.entity.Component;
+import br.com.healthcheck.domain.entity.HealthCheckResult;
+import br.com.healthcheck.domain.entity.HealthStatus;
+import br.com.healthcheck.domain.entity.Service;
+import br.com.healthcheck.domain.usecase.CheckHealthUseCase;
+import br.com.healthcheck.infrastructure.util.JsonWriter;
+import br.com.healthcheck.presentation.dto.HealthCheckResponse;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Montagem do HealthCheckResponse e serialização do JSON de /api/health para 5.000 resultados
+ * com 3 componentes cada, em 10 categorias (sem percentis de latência). Cada operação inclui
+ * um buffer de saída de 2 MB, como na medição original.
+ *
+ * Uso: java ... br.com.healthcheck.presentation.handler.HealthResponseBenchmark [ms de medição]
+ */
+public class HealthResponseBenchmark {
+    private static final int RESULTS = 5000;
+    
+    public static void main(String[] args) throws Exception {
+        long measureMs = args.length > 0 ? Long.parseLong(args[0]) : 5000;
+        List<HealthCheckResult> results = new ArrayList<>(RESULTS);
+        for (int i = 0; i < RESULTS; i++) {
+            Service service = new Service("servico-" + i, "http://host-" + (i % 250) + ".interno:8080/actuator/health",
+                "categoria-" + (i % 10), 200);
+            boolean down = i % 20 == 0;
+            List<Component> components = new ArrayList<>();
+            components.add(Component.of("db", down ? "DOWN" : "UP"));
+            components.add(Component.of("diskSpace", "UP"));
+            components.add(Component.of("ping", "UP"));
+            results.add(HealthCheckResult.checked(service, down ? HealthStatus.UNHEALTHY : HealthStatus.HEALTHY,
+                200, 35_000_000L + i * 1000L, down ? "Componente db DOWN" : "OK", down ? "DOWN" : "UP", components));
+        }
+        
+        Bench.Result result = Bench.measure("HealthCheckResponse + JSON (" + RESULTS + " resultados)",
+            measureMs / 2, measureMs, () -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(2 * 1024 * 1024);
+                JsonWriter json = new JsonWriter(out);
+                HealthHandler.toJson(new HealthCheckResponse(new CheckHealthUseCase.HealthCheckSummary(results), null), json);
+                json.flush();
+                return out;
+            });
+        System.out.println("JSON: " + Bench.bytes(((ByteArrayOutputStream) Bench.sink).size())
+            + ", " + String.format(Locale.ROOT, "%.2f MB/op", result.bytesPerOp / 1e6));
+    }
+}
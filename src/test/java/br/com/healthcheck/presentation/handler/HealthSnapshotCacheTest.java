@@ -0,0 +1,61 @@
+package br.com.healthcheck.presentation.handler;
+
+import br.com.healthcheck.data.repository.HistogramLatencyRepository;
+import br.com.healthcheck.data.repository.InMemoryHealthSnapshotRepository;
+import br.com.healthcheck.domain.usecase.GetHealthSnapshotUseCase;
+import br.com.healthcheck.domain.usecase.GetLatencyUseCase;
+import br.com.healthcheck.infrastructure.config.ServerSettings;
+
+/**
+ * Verificações do HealthSnapshotCache (sem framework: main termina com status 1 se algo falhar)
+ */
+public class HealthSnapshotCacheTest {
+    
+    public static void main(String[] args) throws Exception {
+        zeroMaxAgeDisablesExpiry();
+        maxAgeRebuildsSameVersion();
+        System.out.println("HealthSnapshotCacheTest: ok");
+    }
+    
+    /**
+     * healthcheck.snapshot.maxAgeMs=0 desliga a expiração por idade: o mesmo corpo (e ETag) vale
+     * até a versão mudar
+     */
+    private static void zeroMaxAgeDisablesExpiry() throws Exception {
+        System.setProperty("healthcheck.snapshot.maxAgeMs", "0");
+        try {
+            check(ServerSettings.getSnapshotMaxAgeMs() == 0, "maxAgeMs=0 lido como " + ServerSettings.getSnapshotMaxAgeMs());
+        } finally {
+            System.clearProperty("healthcheck.snapshot.maxAgeMs");
+        }
+        check(ServerSettings.getSnapshotMaxAgeMs() == 60000, "padrão: " + ServerSettings.getSnapshotMaxAgeMs());
+        
+        HealthSnapshotCache cache = newCache(0);
+        String etag = cache.get().getETag();
+        Thread.sleep(50);
+        check(etag.equals(cache.get().getETag()), "corpo refeito com maxAgeMs=0");
+    }
+    
+    private static void maxAgeRebuildsSameVersion() throws Exception {
+        HealthSnapshotCache cache = newCache(20);
+        String etag = cache.get().getETag();
+        check(etag.equals(cache.get().getETag()), "corpo refeito antes de maxAgeMs");
+        Thread.sleep(50);
+        check(!etag.equals(cache.get().getETag()), "corpo não refeito depois de maxAgeMs");
+    }
+    
+    private static HealthSnapshotCache newCache(long maxAgeMs) {
+        return new HealthSnapshotCache(
+            new GetHealthSnapshotUseCase(new InMemoryHealthSnapshotRepository(100)),
+            new GetLatencyUseCase(new HistogramLatencyRepository()),
+            maxAgeMs
+        );
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("HealthSnapshotCacheTest: falhou - " + message);
+            System.exit(1);
+        }
+    }
+}